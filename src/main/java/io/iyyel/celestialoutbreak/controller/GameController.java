@@ -1,9 +1,12 @@
 package io.iyyel.celestialoutbreak.controller;
 
+import io.iyyel.celestialoutbreak.data.dao.HighScoreLogDAO;
 import io.iyyel.celestialoutbreak.data.dao.PlayerDAO;
+import io.iyyel.celestialoutbreak.data.dao.interfaces.IHighScoreDAO;
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IPlayerDAO;
 import io.iyyel.celestialoutbreak.graphics.ScreenRenderer;
 import io.iyyel.celestialoutbreak.handler.*;
+import io.iyyel.celestialoutbreak.ui.entity.AbstractMobileEntity;
 import io.iyyel.celestialoutbreak.ui.screen.AbstractNavigationScreen;
 import io.iyyel.celestialoutbreak.ui.screen.WelcomeScreen;
 import io.iyyel.celestialoutbreak.ui.screen.main.*;
@@ -15,6 +18,7 @@ import io.iyyel.celestialoutbreak.ui.screen.play.*;
 import io.iyyel.celestialoutbreak.ui.screen.player_options.PlayerCreateScreen;
 import io.iyyel.celestialoutbreak.ui.screen.player_options.PlayerDeleteScreen;
 import io.iyyel.celestialoutbreak.ui.screen.player_options.PlayerSelectScreen;
+import io.iyyel.celestialoutbreak.util.LatencyTracker;
 import io.iyyel.celestialoutbreak.util.Util;
 
 import javax.swing.*;
@@ -23,6 +27,11 @@ import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /*
  * This is the GameController class.
@@ -33,25 +42,40 @@ public final class GameController extends Canvas implements Runnable {
     /*
      * SCREEN_WIDTH and SCREEN_HEIGHT will be multiplied by
      * SCREEN_SCALE to make the width and height of the screenRenderer.
-     * Update rate is the targeted update rate.
+     * Update rate is the targeted update rate, set by the UPDATE_RATE option.
      */
     private final int SCREEN_WIDTH = 640;
     private final int SCREEN_HEIGHT = 360;
     private final int SCREEN_SCALE = 2;
-    private final int SCREEN_UPDATE_RATE = 60;
+    private final int SCREEN_UPDATE_RATE = OptionsHandler.getInstance().getUpdateRate();
 
     /*
-     * Timers to switch the mainScreen background color in a slower interval than 60 times a second.
+     * Timers to switch the mainScreen background color once a second.
      */
     private final int INITIAL_MAIN_MENU_SCREEN_COLOR_TIMER_VALUE = SCREEN_UPDATE_RATE;
     private int mainMenuScreenColorTimer = INITIAL_MAIN_MENU_SCREEN_COLOR_TIMER_VALUE;
 
     /*
-     * gameThread is the main thread of the application.
+     * gameThread is the main thread of the application and renders the frames.
+     * simulationThread updates the game at the fixed update rate.
      * isRunning determines whether the gameController loop is running or not.
      */
     private Thread gameThread;
-    private boolean isRunning = false;
+    private Thread simulationThread;
+    private volatile boolean isRunning = false;
+
+    /*
+     * An update and the drawing of a frame never run at the same time, which
+     * the fair frameLock ensures. frameUpdated is signalled after each update.
+     * lastUpdateNanos is the time the last update was due, from which the
+     * renderer finds the fraction of an update passed to draw entities at.
+     */
+    private final ReentrantLock frameLock = new ReentrantLock(true);
+    private final Condition frameUpdated = frameLock.newCondition();
+    private final AtomicInteger updateCounter = new AtomicInteger();
+    private long updateCount = 0;
+    private long renderedUpdateCount = 0;
+    private volatile long lastUpdateNanos;
 
     /*
      * BufferedImage for the actual rendering of the screenRenderer.
@@ -77,6 +101,7 @@ public final class GameController extends Canvas implements Runnable {
     private final LevelHandler levelHandler = LevelHandler.getInstance();
     private final LogHandler logHandler = LogHandler.getInstance();
     private final IPlayerDAO playerDAO = PlayerDAO.getInstance();
+    private final IHighScoreDAO highScoreDAO = HighScoreLogDAO.getInstance();
 
     /*
      * Objects used for menu's.
@@ -190,6 +215,9 @@ public final class GameController extends Canvas implements Runnable {
             stop();
         }
 
+        /* Load high scores in the background, the screens show them once loaded. */
+        highScoreDAO.loadHighScoreListAsync();
+
         /* Initialize levelHandler */
         levelHandler.initPreLevels(this);
 
@@ -237,48 +265,107 @@ public final class GameController extends Canvas implements Runnable {
     }
 
     /*
-     * GameController loop with frames and updates counter.
+     * GameController render loop with frames and updates counter. With the fps
+     * lock enabled a frame is drawn once per update, otherwise as fast as possible.
      */
     @Override
     public void run() {
-        long lastTime = System.nanoTime();
         long timer = System.currentTimeMillis();
-        final double ns = 1000000000.0 / SCREEN_UPDATE_RATE;
-        double delta = 0;
         int frames = 0;
-        int updates = 0;
         while (isRunning) {
-            long now = System.nanoTime();
-            delta += (now - lastTime) / ns;
-            lastTime = now;
-            while (delta >= 1) {
-                update();
-                updates++;
-                delta--;
-                if (optionsHandler.isFpsLockEnabled()) {
-                    render();
-                    frames++;
-                }
-            }
-            if (!optionsHandler.isFpsLockEnabled()) {
-                render();
-                frames++;
+            if (optionsHandler.isFpsLockEnabled() && !awaitUpdate()) {
+                continue;
             }
+            render();
+            frames++;
             if (System.currentTimeMillis() - timer > 1000) {
+                int updates = updateCounter.getAndSet(0);
                 timer += 1000;
                 if (optionsHandler.isVerboseLogEnabled()) {
+                    LatencyTracker updateLatency = inputHandler.getInputToUpdateLatency();
+                    LatencyTracker presentLatency = inputHandler.getInputToPresentLatency();
+                    String latencyMsg = textHandler.vInputLatencyMsg(
+                            updateLatency.getPercentile(50), updateLatency.getPercentile(99),
+                            presentLatency.getPercentile(50), presentLatency.getPercentile(99));
                     gameFrame.setTitle(textHandler.GAME_TITLE + " | " + textHandler.GAME_VERSION +
-                            " - " + textHandler.vPerformanceMsg(frames, updates));
+                            " - " + textHandler.vPerformanceMsg(frames, updates) + " | " + latencyMsg);
                     logHandler.log(textHandler.vPerformanceMsg(frames, updates), "run", LogHandler.LogLevel.INFO, true);
+                    logHandler.log(latencyMsg, "run", LogHandler.LogLevel.INFO, true);
                 } else {
                     gameFrame.setTitle(textHandler.GAME_TITLE);
                 }
-                updates = 0;
                 frames = 0;
             }
         }
     }
 
+    /*
+     * Simulation loop, updates the game at SCREEN_UPDATE_RATE
+     * and sleeps until the next update is due.
+     */
+    private void runSimulation() {
+        long lastTime = System.nanoTime();
+        final double ns = 1000000000.0 / SCREEN_UPDATE_RATE;
+        double delta = 0;
+        lastUpdateNanos = lastTime;
+        while (isRunning) {
+            long now = System.nanoTime();
+            delta += (now - lastTime) / ns;
+            lastTime = now;
+            while (delta >= 1) {
+                delta--;
+                frameLock.lock();
+                try {
+                    update();
+                    updateCount++;
+                    lastUpdateNanos = now - (long) (delta * ns);
+                    frameUpdated.signalAll();
+                } finally {
+                    frameLock.unlock();
+                }
+                updateCounter.incrementAndGet();
+            }
+            LockSupport.parkNanos((long) ((1 - delta) * ns));
+        }
+    }
+
+    /*
+     * Waits for an update that hasn't been drawn yet.
+     * Returns false if none came within a second.
+     */
+    private boolean awaitUpdate() {
+        frameLock.lock();
+        try {
+            long timeoutNanos = TimeUnit.SECONDS.toNanos(1);
+            while (updateCount == renderedUpdateCount) {
+                if (timeoutNanos <= 0 || !isRunning) {
+                    return false;
+                }
+                timeoutNanos = frameUpdated.awaitNanos(timeoutNanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            frameLock.unlock();
+        }
+    }
+
+    /*
+     * The fraction of an update passed since the last update, by which the
+     * entities are drawn between their previous and current position. Only
+     * the level moves, and with the fps lock the frame is drawn right after
+     * the update, so the current position is drawn otherwise.
+     */
+    private double getRenderAlpha() {
+        if (state != State.PLAY || optionsHandler.isFpsLockEnabled()) {
+            return 1.0;
+        }
+        double alpha = (System.nanoTime() - lastUpdateNanos) / (1000000000.0 / SCREEN_UPDATE_RATE);
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+
     /*
      * Update the state of the gameController entities as well as the different menus.
      */
@@ -372,12 +459,6 @@ public final class GameController extends Canvas implements Runnable {
             return;
         }
 
-        /* Clear the screenRenderer, i.e. make it go all black. */
-        screenRenderer.clear();
-
-        /* Let the current gameController state decide whether to render a level's color or the menu's color. */
-        renderBackgroundColor();
-
         /* Get the graphics2D object from the buffer strategy. */
         Graphics2D g = null;
 
@@ -400,15 +481,34 @@ public final class GameController extends Canvas implements Runnable {
             g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         }
 
-        /* Draw the buffered image to the screen. */
-        g.drawImage(image, 0, 0, getWidth(), getHeight(), null);
-
-        /* Make the current state of the gameController decide what to render. */
-        renderScreen(g);
+        /* The game state can't change while the frame is drawn. */
+        frameLock.lock();
+        try {
+            /*
+             * Let the current gameController state decide whether to render a level's color or the menu's color.
+             * The pixels are only rewritten when the color changes.
+             */
+            renderBackgroundColor();
+
+            /* Draw the buffered image to the screen. */
+            g.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+
+            /* Make the current state of the gameController decide what to render. */
+            AbstractMobileEntity.setRenderAlpha(getRenderAlpha());
+            renderScreen(g);
+
+            renderedUpdateCount = updateCount;
+            inputHandler.onFrameRendered();
+        } finally {
+            frameLock.unlock();
+        }
 
-        /* Dispose the graphics and show the buffer to the screenRenderer. */
+        /* Dispose the graphics and show the buffer to the screenRenderer, while the next update runs. */
         g.dispose();
         bs.show();
+
+        /* Key presses drawn in this frame are on screen now. */
+        inputHandler.onFramePresented();
     }
 
     private void renderBackgroundColor() {
@@ -437,6 +537,8 @@ public final class GameController extends Canvas implements Runnable {
                 screenRenderer.render(levelHandler.getActiveLevel().getColor());
                 break;
             default:
+                /* Clear the screenRenderer, i.e. make it go all black. */
+                screenRenderer.clear();
                 break;
         }
     }
@@ -556,6 +658,8 @@ public final class GameController extends Canvas implements Runnable {
         if (!isRunning) {
             isRunning = true;
             gameThread = new Thread(this, "GameController");
+            simulationThread = new Thread(this::runSimulation, "GameSimulation");
+            simulationThread.start();
             gameThread.start();
         }
     }
@@ -0,0 +1,218 @@
+package io.iyyel.celestialoutbreak.data.codec;
+
+import io.iyyel.celestialoutbreak.data.dto.HighScoreDTO;
+import io.iyyel.celestialoutbreak.data.dto.PlayerDTO;
+
+import java.io.*;
+import java.util.*;
+
+/*
+ * Versioned binary format of the player and score files.
+ *
+ * Every file starts with a header (magic, version) followed by a string
+ * table holding each distinct player and level name once. The DTOs only
+ * refer to the strings by their index, so decoded DTOs share their strings.
+ *
+ *   Players: header, string table, selected player (index), player count, player indices
+ *   Scores:  header, string table, score count, scores: player (index), level name (index), score, time
+ *
+ * Indices and counts are variable length, a null string has index 0 and
+ * table strings start at 1. Files written by Java serialization, recognized
+ * by their stream magic, can still be decoded so they are migrated once saved.
+ *
+ * Scores are only decoded, to import the old score file into the score log.
+ */
+public final class DTOCodec {
+
+    private static final int PLAYER_MAGIC = 0x434F504C;
+    private static final int SCORE_MAGIC = 0x434F5343;
+    private static final short FORMAT_VERSION = 1;
+
+    private static final DTOCodec instance;
+
+    private DTOCodec() {
+
+    }
+
+    static {
+        try {
+            instance = new DTOCodec();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static synchronized DTOCodec getInstance() {
+        return instance;
+    }
+
+    /*
+     * Whether in starts with the Java serialization stream magic.
+     * in must support mark, and is reset afterwards.
+     */
+    public boolean isJavaSerialized(InputStream in) throws IOException {
+        in.mark(2);
+        int b0 = in.read();
+        int b1 = in.read();
+        in.reset();
+        return ((b0 << 8) | b1) == (ObjectStreamConstants.STREAM_MAGIC & 0xFFFF);
+    }
+
+    /*
+     * Players.
+     */
+    public void encodePlayers(PlayerDTO playerDTO, OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        StringTable table = new StringTable();
+        for (String player : playerDTO.getPlayers()) {
+            table.add(player);
+        }
+        table.add(playerDTO.getSelectedPlayer());
+
+        writeHeader(out, PLAYER_MAGIC);
+        table.write(out);
+        writeVarInt(out, table.indexOf(playerDTO.getSelectedPlayer()));
+        writeVarInt(out, playerDTO.getPlayerCount());
+        for (String player : playerDTO.getPlayers()) {
+            writeVarInt(out, table.indexOf(player));
+        }
+        out.flush();
+    }
+
+    public PlayerDTO decodePlayers(InputStream is) throws IOException {
+        InputStream in = markable(is);
+        if (isJavaSerialized(in)) {
+            return readJavaSerialized(in, PlayerDTO.class);
+        }
+
+        DataInputStream din = new DataInputStream(in);
+        readHeader(din, PLAYER_MAGIC);
+        String[] table = readStringTable(din);
+
+        PlayerDTO playerDTO = new PlayerDTO();
+        String selectedPlayer = tableString(table, readVarInt(din));
+        int count = readVarInt(din);
+        for (int i = 0; i < count; i++) {
+            playerDTO.addPlayer(tableString(table, readVarInt(din)));
+        }
+        playerDTO.setSelectedPlayer(selectedPlayer);
+        return playerDTO;
+    }
+
+    /*
+     * Scores.
+     */
+    @SuppressWarnings("unchecked")
+    public List<HighScoreDTO> decodeScores(InputStream is) throws IOException {
+        InputStream in = markable(is);
+        if (isJavaSerialized(in)) {
+            return readJavaSerialized(in, List.class);
+        }
+
+        DataInputStream din = new DataInputStream(in);
+        readHeader(din, SCORE_MAGIC);
+        String[] table = readStringTable(din);
+
+        int count = readVarInt(din);
+        List<HighScoreDTO> scoreList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String player = tableString(table, readVarInt(din));
+            String levelName = tableString(table, readVarInt(din));
+            scoreList.add(new HighScoreDTO(player, levelName, din.readLong(), din.readLong()));
+        }
+        return scoreList;
+    }
+
+    /*
+     * Assigns each distinct string an index in the order they are added.
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> indexMap = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private void add(String str) {
+            if (str != null && !indexMap.containsKey(str)) {
+                strings.add(str);
+                indexMap.put(str, strings.size());
+            }
+        }
+
+        private int indexOf(String str) {
+            return str == null ? 0 : indexMap.get(str);
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            writeVarInt(out, strings.size());
+            for (String str : strings) {
+                out.writeUTF(str);
+            }
+        }
+    }
+
+    private static String[] readStringTable(DataInputStream in) throws IOException {
+        String[] table = new String[readVarInt(in) + 1];
+        for (int i = 1; i < table.length; i++) {
+            table[i] = in.readUTF();
+        }
+        return table;
+    }
+
+    private static String tableString(String[] table, int index) throws IOException {
+        if (index < 0 || index >= table.length) {
+            throw new IOException("Invalid string table index " + index);
+        }
+        return table[index];
+    }
+
+    private static void writeHeader(DataOutputStream out, int magic) throws IOException {
+        out.writeInt(magic);
+        out.writeShort(FORMAT_VERSION);
+    }
+
+    private static void readHeader(DataInputStream in, int magic) throws IOException {
+        if (in.readInt() != magic) {
+            throw new IOException("Unknown file format.");
+        }
+        short version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported file format version " + version);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Invalid length " + value);
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer.");
+    }
+
+    private static <T> T readJavaSerialized(InputStream in, Class<T> type) throws IOException {
+        try {
+            return type.cast(new ObjectInputStream(in).readObject());
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static InputStream markable(InputStream in) {
+        return in.markSupported() ? in : new BufferedInputStream(in);
+    }
+
+}
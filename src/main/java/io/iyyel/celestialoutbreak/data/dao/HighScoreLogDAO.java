@@ -0,0 +1,839 @@
+package io.iyyel.celestialoutbreak.data.dao;
+
+import io.iyyel.celestialoutbreak.data.codec.DTOCodec;
+import io.iyyel.celestialoutbreak.data.dao.interfaces.IHighScoreDAO;
+import io.iyyel.celestialoutbreak.data.dto.HighScoreDTO;
+import io.iyyel.celestialoutbreak.handler.LogHandler;
+import io.iyyel.celestialoutbreak.handler.PersistenceHandler;
+import io.iyyel.celestialoutbreak.handler.TextHandler;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+/*
+ * High score store backed by an append-only record log.
+ *
+ * The log file starts with a header (magic, version) followed by records:
+ *   ADD:        type (byte), id (long), player (nullable UTF), level name (nullable UTF), score (long), time (long)
+ *   ADD_SEEDED: an ADD record followed by the seed of the level (long)
+ *   REMOVE:     type (byte), id (long)
+ *
+ * Added and removed scores are appended to the log, and saveHighScoreList()
+ * only writes the appended records. The scores are kept in memory in sorted
+ * sets per level, per player and per level and player, which answer the
+ * best score and leaderboard queries. Once the log holds more dead records
+ * than live ones it is compacted by rewriting only the live scores.
+ *
+ * Saving forces the log to disk on the persistence thread, and compaction
+ * replaces the log atomically while keeping the previous log as backup,
+ * which is read instead if the log itself is missing or can't be read.
+ *
+ * Every save also writes a ScoreIndexFile of the best scores. At startup
+ * only that index is mapped, which answers getHighScore() until the log
+ * is needed and has been read on the persistence thread.
+ *
+ * The monitor of this DAO only guards the scores in memory. All file I/O
+ * is done holding ioLock instead, so the queries of the screens never wait
+ * for the disk: a read log is swapped in once it is complete, and changes
+ * are appended to pendingRecords until the next save writes them.
+ */
+public final class HighScoreLogDAO implements IHighScoreDAO {
+
+    private final LogHandler logHandler = LogHandler.getInstance();
+    private final TextHandler textHandler = TextHandler.getInstance();
+    private final PersistenceHandler persistenceHandler = PersistenceHandler.getInstance();
+    private final DTOCodec dtoCodec = DTOCodec.getInstance();
+
+    private static final int LOG_MAGIC = 0x434F4853;
+    private static final short LOG_VERSION = 1;
+    private static final byte RECORD_ADD = 1;
+    private static final byte RECORD_REMOVE = 2;
+    private static final byte RECORD_ADD_SEEDED = 3;
+
+    /* Minimum amount of dead records before the log is compacted. */
+    private static final int COMPACT_MIN_DEAD_RECORDS = 256;
+
+    /* Guards the files. Taken before the monitor, never while holding it. */
+    private final Object ioLock = new Object();
+
+    /* Guarded by the monitor. store is null until the log has been read. */
+    private ScoreStore store;
+    private ScoreIndexFile scoreIndexFile;
+    private final ByteArrayOutputStream pendingRecords = new ByteArrayOutputStream();
+    private final DataOutputStream pendingOut = new DataOutputStream(pendingRecords);
+    private boolean isStoreRequested = false;
+    private volatile boolean isLoaded = false;
+
+    /* Guarded by ioLock. */
+    private FileOutputStream logFileOut;
+    private boolean isAppendFailed = false;
+
+    private final List<HighScoreChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    private static final IHighScoreDAO instance;
+
+    private HighScoreLogDAO() {
+
+    }
+
+    static {
+        try {
+            instance = new HighScoreLogDAO();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to instantiate Singleton HighScoreLogDAO!");
+        }
+    }
+
+    public static synchronized IHighScoreDAO getInstance() {
+        return instance;
+    }
+
+    /*
+     * Reads the record log once, later calls do nothing since all changes
+     * go through this DAO. If there is no log yet, the scores of the old
+     * score binary file are imported. The scores are only swapped in once
+     * they have been read, until then the score index keeps answering.
+     */
+    @Override
+    public void loadHighScoreList() throws HighScoreDAOException {
+        synchronized (ioLock) {
+            synchronized (this) {
+                if (store != null) {
+                    return;
+                }
+            }
+
+            File logFile = new File(textHandler.SCORE_LOG_FILE_CLIENT_PATH);
+            File bakFile = new File(logFile.getPath() + textHandler.BAK_FILE_EXTENSION);
+
+            try {
+                ScoreStore loaded;
+                if (logFile.exists() || bakFile.exists()) {
+                    loaded = readLogWithRecovery(logFile);
+                    logHandler.log(textHandler.successReadScoreLog(loaded.highScoreDTOList.size(), loaded.deadRecords),
+                            "loadHighScoreList", LogHandler.LogLevel.INFO, true);
+                } else {
+                    loaded = importLegacyScores();
+                    writeCompactLog(logFile, loaded);
+                }
+
+                if (loaded.isCompactionNeeded()) {
+                    writeCompactLog(logFile, loaded);
+                }
+
+                logFileOut = new FileOutputStream(logFile, true);
+                writeScoreIndex(loaded.getLevelBest(), logFile.length());
+
+                synchronized (this) {
+                    store = loaded;
+                    scoreIndexFile = null;
+                    isLoaded = true;
+                }
+                fireHighScoresChanged();
+            } catch (IOException e) {
+                synchronized (this) {
+                    isStoreRequested = false;
+                }
+                logHandler.log(textHandler.errorOccurred("Error loading high score log file", e),
+                        "loadHighScoreList", LogHandler.LogLevel.ERROR, false);
+                throw new HighScoreDAOException("Failed to load high score log: " + e.getMessage());
+            }
+        }
+    }
+
+    /*
+     * Writes the appended records to disk on the persistence thread,
+     * compacting the log first if needed, and waits until they are written.
+     */
+    @Override
+    public void saveHighScoreList() throws HighScoreDAOException {
+        /* The persistence thread would wait for itself, so it writes them directly. */
+        if (persistenceHandler.isPersistenceThread()) {
+            try {
+                syncLog();
+            } catch (IOException e) {
+                throw new HighScoreDAOException("Failed to save high score log: " + e.getMessage());
+            }
+            return;
+        }
+
+        try {
+            saveHighScoreListAsync().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HighScoreDAOException("Interrupted while saving high score log.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HighScoreDAOException) {
+                throw (HighScoreDAOException) e.getCause();
+            }
+            throw new HighScoreDAOException("Failed to save high score log: " + e.getCause().getMessage());
+        }
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return isLoaded;
+    }
+
+    /*
+     * Maps the score index if it is up to date with the log,
+     * otherwise reads the whole log.
+     */
+    @Override
+    public CompletableFuture<Void> loadHighScoreListAsync() {
+        return persistenceHandler.submit("loadHighScoreListAsync", () -> {
+            if (!openScoreIndex()) {
+                loadHighScoreList();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveHighScoreListAsync() {
+        return persistenceHandler.submit("saveHighScoreListAsync", this::syncLog)
+                .thenRun(() -> logHandler.log(textHandler.successSaveScoreLog(), "saveHighScoreListAsync",
+                        LogHandler.LogLevel.INFO, true));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> submitHighScoreAsync(HighScoreDTO dto) {
+        return persistenceHandler.supply("submitHighScoreAsync", () -> {
+            loadHighScoreList();
+            synchronized (this) {
+                if (!isHighScore(dto)) {
+                    return false;
+                }
+                addHighScore(dto);
+            }
+            syncLog();
+            return true;
+        });
+    }
+
+    /*
+     * Writes the records appended so far and forces them to disk, or compacts
+     * the log if enough of it is dead. The monitor is only held to take the
+     * records and the scores they leave, never while writing.
+     */
+    private void syncLog() throws IOException, HighScoreDAOException {
+        loadHighScoreList();
+
+        synchronized (ioLock) {
+            byte[] records;
+            List<ScoreEntry> compactEntries = null;
+            int compactDeadRecords = 0;
+            Map<String, List<HighScoreDTO>> levelBestMap;
+
+            synchronized (this) {
+                records = pendingRecords.toByteArray();
+                pendingRecords.reset();
+                /* After a failed append only compaction brings the log up to date again. */
+                if (store.isCompactionNeeded() || isAppendFailed) {
+                    /* The compacted log holds the taken records, so they aren't appended. */
+                    compactEntries = store.getEntries();
+                    compactDeadRecords = store.deadRecords;
+                }
+                levelBestMap = store.getLevelBest();
+            }
+
+            File logFile = new File(textHandler.SCORE_LOG_FILE_CLIENT_PATH);
+            if (compactEntries != null) {
+                /* The old log is rotated to the backup file, so it's closed first. */
+                logFileOut.close();
+                try {
+                    writeCompactLog(logFile, compactEntries, compactDeadRecords);
+                } finally {
+                    logFileOut = new FileOutputStream(logFile, true);
+                }
+                isAppendFailed = false;
+                synchronized (this) {
+                    store.deadRecords -= compactDeadRecords;
+                }
+            } else {
+                try {
+                    logFileOut.write(records);
+                    logFileOut.getChannel().force(false);
+                } catch (IOException e) {
+                    isAppendFailed = true;
+                    throw e;
+                }
+            }
+
+            writeScoreIndex(levelBestMap, logFile.length());
+        }
+    }
+
+    @Override
+    public synchronized boolean isHighScore(HighScoreDTO dto) throws HighScoreDAOException {
+        HighScoreDTO currentHighScore = getHighScore(dto.getLevelName());
+
+        if (currentHighScore == null) {
+            return true;
+        } else {
+            return dto.getScore() > currentHighScore.getScore();
+        }
+    }
+
+    @Override
+    public synchronized HighScoreDTO getHighScore(String player, String levelName) throws HighScoreDAOException {
+        if (store == null && scoreIndexFile != null) {
+            return scoreIndexFile.getHighScore(player, levelName);
+        }
+        return getFirst(requireStore().getPlayerScores(levelName, player));
+    }
+
+    @Override
+    public synchronized HighScoreDTO getHighScore(String levelName) throws HighScoreDAOException {
+        if (store == null && scoreIndexFile != null) {
+            return scoreIndexFile.getHighScore(levelName);
+        }
+        return getFirst(requireStore().levelScoreMap.get(levelName));
+    }
+
+    @Override
+    public synchronized List<HighScoreDTO> getTopScores(String levelName, int n) throws HighScoreDAOException {
+        return getFirst(requireStore().levelScoreMap.get(levelName), n);
+    }
+
+    @Override
+    public synchronized List<HighScoreDTO> getTopPlayerScores(String player, int n) throws HighScoreDAOException {
+        return getFirst(requireStore().playerScoreMap.get(player), n);
+    }
+
+    @Override
+    public synchronized int getRank(String player, String levelName) throws HighScoreDAOException {
+        ScoreStore scores = requireStore();
+        TreeSet<ScoreEntry> playerScores = scores.getPlayerScores(levelName, player);
+        if (playerScores == null) {
+            return 0;
+        }
+        return scores.levelPlayerBestMap.get(levelName).headSet(playerScores.first()).size() + 1;
+    }
+
+    @Override
+    public void addHighScore(HighScoreDTO dto) throws HighScoreDAOException {
+        synchronized (this) {
+            ScoreStore scores = requireStore();
+            long id = scores.nextId++;
+            try {
+                writeAddRecord(pendingOut, id, dto);
+            } catch (IOException e) {
+                throw new HighScoreDAOException("Failed to append high score: " + e.getMessage());
+            }
+            scores.add(id, dto);
+        }
+        fireHighScoresChanged();
+    }
+
+    @Override
+    public synchronized void removeScore(HighScoreDTO dto) throws HighScoreDAOException {
+        int index = requireStore().indexOf(dto);
+        if (index != -1) {
+            removeScore(index);
+        }
+    }
+
+    @Override
+    public void removeScore(int index) throws HighScoreDAOException {
+        synchronized (this) {
+            ScoreStore scores = requireStore();
+            HighScoreDTO dto = scores.highScoreDTOList.get(index);
+            try {
+                writeRemoveRecord(pendingOut, scores.scoreEntryMap.get(dto).id);
+            } catch (IOException e) {
+                throw new HighScoreDAOException("Failed to append high score removal: " + e.getMessage());
+            }
+            scores.remove(index);
+            /* Both the ADD and the REMOVE record are dead now. */
+            scores.deadRecords += 2;
+        }
+        fireHighScoresChanged();
+    }
+
+    @Override
+    public synchronized List<HighScoreDTO> getScores() throws HighScoreDAOException {
+        return Collections.unmodifiableList(new ArrayList<>(requireStore().highScoreDTOList));
+    }
+
+    @Override
+    public void addChangeListener(HighScoreChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(HighScoreChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void fireHighScoresChanged() {
+        for (HighScoreChangeListener listener : changeListeners) {
+            listener.onHighScoresChanged();
+        }
+    }
+
+    /*
+     * The scores of the read log, which everything but the best scores
+     * needs. The log is never read on the calling thread: if only the score
+     * index has been mapped so far, the log is read on the persistence thread
+     * and the caller has to ask again once the change listeners are notified.
+     */
+    private ScoreStore requireStore() throws HighScoreDAOException {
+        if (store != null) {
+            return store;
+        }
+
+        if (scoreIndexFile != null && !isStoreRequested) {
+            isStoreRequested = true;
+            persistenceHandler.submit("requireStore", this::loadHighScoreList);
+        }
+        throw new HighScoreDAOException("Please load high scores first.");
+    }
+
+    private static HighScoreDTO getFirst(TreeSet<ScoreEntry> set) {
+        return set == null ? null : set.first().dto;
+    }
+
+    private static List<HighScoreDTO> getFirst(TreeSet<ScoreEntry> set, int n) {
+        List<HighScoreDTO> list = new ArrayList<>(Math.max(0, n));
+        if (set != null) {
+            Iterator<ScoreEntry> it = set.iterator();
+            while (list.size() < n && it.hasNext()) {
+                list.add(it.next().dto);
+            }
+        }
+        return list;
+    }
+
+    /*
+     * Score index file handling. The index is mapped without holding
+     * the monitor, and only swapped in if the log hasn't been read yet.
+     */
+    private boolean openScoreIndex() {
+        synchronized (this) {
+            if (store != null) {
+                return true;
+            }
+        }
+
+        File indexFile = new File(textHandler.SCORE_INDEX_FILE_CLIENT_PATH);
+        File logFile = new File(textHandler.SCORE_LOG_FILE_CLIENT_PATH);
+        if (!indexFile.exists() || !logFile.exists()) {
+            return false;
+        }
+
+        try {
+            ScoreIndexFile index = ScoreIndexFile.open(indexFile);
+            if (index.getLogLength() != logFile.length()) {
+                logHandler.log(textHandler.errorStaleScoreIndex(), "openScoreIndex", LogHandler.LogLevel.FAIL, false);
+                return false;
+            }
+
+            synchronized (this) {
+                if (store != null) {
+                    return true;
+                }
+                scoreIndexFile = index;
+                isLoaded = true;
+            }
+            logHandler.log(textHandler.successOpenedScoreIndex(index.getRecordCount()), "openScoreIndex",
+                    LogHandler.LogLevel.INFO, true);
+            fireHighScoresChanged();
+            return true;
+        } catch (IOException e) {
+            logHandler.log(textHandler.errorOccurred("Error opening high score index file", e),
+                    "openScoreIndex", LogHandler.LogLevel.FAIL, false);
+            return false;
+        }
+    }
+
+    /*
+     * Writes the index of levelBestMap, the best score of each player on each
+     * level, for the log which is logLength long. The index is only a cache
+     * of the log, failing to write it just makes the next startup read the log.
+     */
+    private void writeScoreIndex(Map<String, List<HighScoreDTO>> levelBestMap, long logLength) {
+        try {
+            persistenceHandler.writeAtomically(textHandler.SCORE_INDEX_FILE_CLIENT_PATH,
+                    out -> ScoreIndexFile.write(out, logLength, levelBestMap));
+        } catch (IOException e) {
+            logHandler.log(textHandler.errorWritingToFileMsg(textHandler.SCORE_INDEX_FILE_CLIENT_PATH, e.getMessage()),
+                    "writeScoreIndex", LogHandler.LogLevel.FAIL, false);
+        }
+    }
+
+    /*
+     * Log file handling.
+     */
+    private ScoreStore readLog(File logFile) throws IOException {
+        ScoreStore scores = new ScoreStore();
+        Map<Long, HighScoreDTO> idScoreMap = new LinkedHashMap<>();
+        /* Player and level names repeat in every record, keep one instance of each. */
+        Map<String, String> namePool = new HashMap<>();
+        long validLength;
+        int records = 0;
+
+        try (CountingInputStream cis = new CountingInputStream(new BufferedInputStream(new FileInputStream(logFile)));
+             DataInputStream in = new DataInputStream(cis)) {
+            readHeader(in);
+            validLength = cis.getCount();
+
+            try {
+                while (true) {
+                    byte type = in.readByte();
+                    if (type == RECORD_ADD || type == RECORD_ADD_SEEDED) {
+                        long id = in.readLong();
+                        String player = poolName(namePool, readNullableUTF(in));
+                        String levelName = poolName(namePool, readNullableUTF(in));
+                        long score = in.readLong();
+                        long time = in.readLong();
+                        HighScoreDTO dto = type == RECORD_ADD_SEEDED
+                                ? new HighScoreDTO(player, levelName, score, time, in.readLong())
+                                : new HighScoreDTO(player, levelName, score, time);
+                        idScoreMap.put(id, dto);
+                        scores.nextId = Math.max(scores.nextId, id + 1);
+                    } else if (type == RECORD_REMOVE) {
+                        idScoreMap.remove(in.readLong());
+                    } else {
+                        throw new IOException("Unknown record type " + type);
+                    }
+                    records++;
+                    validLength = cis.getCount();
+                }
+            } catch (EOFException e) {
+                /* End of log, a partially written last record is ignored. */
+            }
+        }
+
+        if (validLength < logFile.length()) {
+            logHandler.log(textHandler.errorTruncatedScoreLog(logFile.length() - validLength), "readLog",
+                    LogHandler.LogLevel.FAIL, false);
+            try (RandomAccessFile raf = new RandomAccessFile(logFile, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+
+        for (Map.Entry<Long, HighScoreDTO> entry : idScoreMap.entrySet()) {
+            scores.add(entry.getKey(), entry.getValue());
+        }
+        scores.deadRecords = records - idScoreMap.size();
+        return scores;
+    }
+
+    /*
+     * Reads the log, or its backup if the log itself is missing or can't be
+     * read. The log is missing after a crash between rotating it to the backup
+     * and renaming the compacted log into place. The records appended since
+     * the backup was written are lost in that case.
+     */
+    private ScoreStore readLogWithRecovery(File logFile) throws IOException {
+        File bakFile = new File(logFile.getPath() + textHandler.BAK_FILE_EXTENSION);
+        try {
+            return readLog(logFile);
+        } catch (IOException e) {
+            if (!bakFile.exists()) {
+                throw e;
+            }
+            logHandler.log(textHandler.errorReadingFileMsg(logFile.getPath(), e.getMessage()), "readLogWithRecovery",
+                    LogHandler.LogLevel.FAIL, false);
+        }
+
+        ScoreStore recovered = readLog(bakFile);
+
+        /* Delete the damaged log first, so the backup isn't rotated away. */
+        Files.deleteIfExists(logFile.toPath());
+        writeCompactLog(logFile, recovered);
+        logHandler.log(textHandler.successRecoveredFromBackupMsg(logFile.getPath(), bakFile.getPath()),
+                "readLogWithRecovery", LogHandler.LogLevel.INFO, false);
+        return recovered;
+    }
+
+    private void readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != LOG_MAGIC) {
+            throw new IOException("Not a high score log file.");
+        }
+        short version = in.readShort();
+        if (version != LOG_VERSION) {
+            throw new IOException("Unsupported high score log version " + version);
+        }
+    }
+
+    /*
+     * Imports the score binary file, written either by Java serialization or by DTOCodec.
+     */
+    private ScoreStore importLegacyScores() throws IOException {
+        ScoreStore scores = new ScoreStore();
+        File legacyFile = new File(textHandler.SCORE_BIN_FILE_CLIENT_PATH);
+        if (!legacyFile.exists()) {
+            logHandler.log(textHandler.creatingEmptyScoreLogMsg(), "importLegacyScores",
+                    LogHandler.LogLevel.INFO, true);
+            return scores;
+        }
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(legacyFile))) {
+            List<HighScoreDTO> legacyList = dtoCodec.decodeScores(in);
+            for (HighScoreDTO dto : legacyList) {
+                scores.add(scores.nextId++, dto);
+            }
+            logHandler.log(textHandler.successImportedLegacyScores(legacyList.size()), "importLegacyScores",
+                    LogHandler.LogLevel.INFO, false);
+        }
+        return scores;
+    }
+
+    /*
+     * Compacts the log of scores, which isn't in use by anyone else yet.
+     */
+    private void writeCompactLog(File logFile, ScoreStore scores) throws IOException {
+        writeCompactLog(logFile, scores.getEntries(), scores.deadRecords);
+        scores.deadRecords = 0;
+    }
+
+    /*
+     * Writes the live entries to a new log file, which then atomically
+     * replaces the old one. The old one is kept as the backup file.
+     */
+    private void writeCompactLog(File logFile, List<ScoreEntry> entries, int deadRecords) throws IOException {
+        persistenceHandler.writeAtomically(logFile.getPath(), os -> {
+            DataOutputStream out = new DataOutputStream(os);
+            out.writeInt(LOG_MAGIC);
+            out.writeShort(LOG_VERSION);
+            for (ScoreEntry entry : entries) {
+                writeAddRecord(out, entry.id, entry.dto);
+            }
+            out.flush();
+        });
+
+        logHandler.log(textHandler.successCompactedScoreLog(entries.size(), deadRecords), "writeCompactLog",
+                LogHandler.LogLevel.INFO, true);
+    }
+
+    private static void writeAddRecord(DataOutputStream out, long id, HighScoreDTO dto) throws IOException {
+        out.writeByte(dto.hasSeed() ? RECORD_ADD_SEEDED : RECORD_ADD);
+        out.writeLong(id);
+        writeNullableUTF(out, dto.getPlayer());
+        writeNullableUTF(out, dto.getLevelName());
+        out.writeLong(dto.getScore());
+        out.writeLong(dto.getTime());
+        if (dto.hasSeed()) {
+            out.writeLong(dto.getSeed());
+        }
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String str) throws IOException {
+        out.writeBoolean(str != null);
+        if (str != null) {
+            out.writeUTF(str);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static String poolName(Map<String, String> namePool, String name) {
+        if (name == null) {
+            return null;
+        }
+        String pooled = namePool.putIfAbsent(name, name);
+        return pooled != null ? pooled : name;
+    }
+
+    private static void writeRemoveRecord(DataOutputStream out, long id) throws IOException {
+        out.writeByte(RECORD_REMOVE);
+        out.writeLong(id);
+    }
+
+    /*
+     * The scores of the log in memory: the live scores in the order they were
+     * added, the entry of each, and the sorted sets answering the queries.
+     * levelPlayerBestMap holds the best entry of each player on a level, which
+     * is what a player is ranked by. Guarded by the monitor of the DAO once
+     * swapped in.
+     */
+    private static final class ScoreStore {
+
+        private final List<HighScoreDTO> highScoreDTOList = new ArrayList<>();
+        private final Map<HighScoreDTO, ScoreEntry> scoreEntryMap = new IdentityHashMap<>();
+
+        /* Sorted best first. */
+        private final Map<String, TreeSet<ScoreEntry>> levelScoreMap = new HashMap<>();
+        private final Map<String, TreeSet<ScoreEntry>> playerScoreMap = new HashMap<>();
+        private final Map<String, Map<String, TreeSet<ScoreEntry>>> levelPlayerScoreMap = new HashMap<>();
+        private final Map<String, TreeSet<ScoreEntry>> levelPlayerBestMap = new HashMap<>();
+
+        private long nextId = 0;
+        private int deadRecords = 0;
+
+        private void add(long id, HighScoreDTO dto) {
+            ScoreEntry entry = new ScoreEntry(id, dto);
+            highScoreDTOList.add(dto);
+            scoreEntryMap.put(dto, entry);
+
+            levelScoreMap.computeIfAbsent(dto.getLevelName(), k -> new TreeSet<>()).add(entry);
+            playerScoreMap.computeIfAbsent(dto.getPlayer(), k -> new TreeSet<>()).add(entry);
+
+            TreeSet<ScoreEntry> playerScores = levelPlayerScoreMap
+                    .computeIfAbsent(dto.getLevelName(), k -> new HashMap<>())
+                    .computeIfAbsent(dto.getPlayer(), k -> new TreeSet<>());
+            ScoreEntry oldBest = playerScores.isEmpty() ? null : playerScores.first();
+            playerScores.add(entry);
+            updatePlayerBest(dto.getLevelName(), oldBest, playerScores);
+        }
+
+        private void remove(int index) {
+            HighScoreDTO dto = highScoreDTOList.remove(index);
+            ScoreEntry entry = scoreEntryMap.remove(dto);
+
+            removeEntry(levelScoreMap, dto.getLevelName(), entry);
+            removeEntry(playerScoreMap, dto.getPlayer(), entry);
+
+            Map<String, TreeSet<ScoreEntry>> playerScoresMap = levelPlayerScoreMap.get(dto.getLevelName());
+            TreeSet<ScoreEntry> playerScores = playerScoresMap.get(dto.getPlayer());
+            ScoreEntry oldBest = playerScores.first();
+            playerScores.remove(entry);
+            updatePlayerBest(dto.getLevelName(), oldBest, playerScores);
+            if (playerScores.isEmpty()) {
+                playerScoresMap.remove(dto.getPlayer());
+            }
+        }
+
+        /*
+         * Replaces the old best entry of a player on a level
+         * in levelPlayerBestMap, if it has changed.
+         */
+        private void updatePlayerBest(String levelName, ScoreEntry oldBest, TreeSet<ScoreEntry> playerScores) {
+            ScoreEntry newBest = playerScores.isEmpty() ? null : playerScores.first();
+            if (oldBest == newBest) {
+                return;
+            }
+
+            if (oldBest != null) {
+                removeEntry(levelPlayerBestMap, levelName, oldBest);
+            }
+            if (newBest != null) {
+                levelPlayerBestMap.computeIfAbsent(levelName, k -> new TreeSet<>()).add(newBest);
+            }
+        }
+
+        private static void removeEntry(Map<String, TreeSet<ScoreEntry>> map, String key, ScoreEntry entry) {
+            TreeSet<ScoreEntry> set = map.get(key);
+            set.remove(entry);
+            if (set.isEmpty()) {
+                map.remove(key);
+            }
+        }
+
+        private TreeSet<ScoreEntry> getPlayerScores(String levelName, String player) {
+            Map<String, TreeSet<ScoreEntry>> playerScoresMap = levelPlayerScoreMap.get(levelName);
+            return playerScoresMap == null ? null : playerScoresMap.get(player);
+        }
+
+        private int indexOf(HighScoreDTO dto) {
+            for (int i = highScoreDTOList.size() - 1; i >= 0; i--) {
+                if (highScoreDTOList.get(i) == dto) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /* The live entries in the order they were added, as written by compaction. */
+        private List<ScoreEntry> getEntries() {
+            List<ScoreEntry> entries = new ArrayList<>(highScoreDTOList.size());
+            for (HighScoreDTO dto : highScoreDTOList) {
+                entries.add(scoreEntryMap.get(dto));
+            }
+            return entries;
+        }
+
+        /* The best score of each player on each level, as written to the score index. */
+        private Map<String, List<HighScoreDTO>> getLevelBest() {
+            Map<String, List<HighScoreDTO>> levelBestMap = new HashMap<>();
+            for (Map.Entry<String, TreeSet<ScoreEntry>> entry : levelPlayerBestMap.entrySet()) {
+                List<HighScoreDTO> levelBest = new ArrayList<>(entry.getValue().size());
+                for (ScoreEntry scoreEntry : entry.getValue()) {
+                    levelBest.add(scoreEntry.dto);
+                }
+                levelBestMap.put(entry.getKey(), levelBest);
+            }
+            return levelBestMap;
+        }
+
+        private boolean isCompactionNeeded() {
+            return deadRecords >= COMPACT_MIN_DEAD_RECORDS && deadRecords > highScoreDTOList.size();
+        }
+    }
+
+    /*
+     * A stored score with its log id. Entries are ordered best first: highest score,
+     * then lowest time, then the earliest added, so no two entries are equal.
+     */
+    private static final class ScoreEntry implements Comparable<ScoreEntry> {
+
+        private final long id;
+        private final HighScoreDTO dto;
+
+        private ScoreEntry(long id, HighScoreDTO dto) {
+            this.id = id;
+            this.dto = dto;
+        }
+
+        @Override
+        public int compareTo(ScoreEntry o) {
+            int c = Long.compare(o.dto.getScore(), dto.getScore());
+            if (c == 0) {
+                c = Long.compare(dto.getTime(), o.dto.getTime());
+            }
+            if (c == 0) {
+                c = Long.compare(id, o.id);
+            }
+            return c;
+        }
+    }
+
+    /*
+     * Counts the bytes read, so the end of the last complete record is known.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+
+}
@@ -1,8 +1,10 @@
 package io.iyyel.celestialoutbreak.data.dao;
 
+import io.iyyel.celestialoutbreak.data.codec.DTOCodec;
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IPlayerDAO;
 import io.iyyel.celestialoutbreak.data.dto.PlayerDTO;
 import io.iyyel.celestialoutbreak.handler.LogHandler;
+import io.iyyel.celestialoutbreak.handler.PersistenceHandler;
 import io.iyyel.celestialoutbreak.handler.TextHandler;
 
 import java.io.*;
@@ -14,6 +16,8 @@ public final class PlayerDAO implements IPlayerDAO {
 
     private final LogHandler logHandler = LogHandler.getInstance();
     private final TextHandler textHandler = TextHandler.getInstance();
+    private final PersistenceHandler persistenceHandler = PersistenceHandler.getInstance();
+    private final DTOCodec dtoCodec = DTOCodec.getInstance();
 
     private static final IPlayerDAO instance;
 
@@ -33,40 +37,58 @@ public final class PlayerDAO implements IPlayerDAO {
         return instance;
     }
 
+    /*
+     * Waits for pending saves before reading, falling back
+     * to the backup file if the player file is damaged. A player
+     * file written by Java serialization is saved in the binary format.
+     */
     @Override
     public void loadPlayerDTO() throws PlayerDAOException {
+        persistenceHandler.awaitPendingWrites();
+        boolean[] isJavaSerialized = new boolean[1];
         try {
-            ObjectInputStream ois = new ObjectInputStream(
-                    new FileInputStream(textHandler.PLAYER_BIN_FILE_CLIENT_PATH));
-            playerDTO = (PlayerDTO) ois.readObject();
-            ois.close();
+            playerDTO = persistenceHandler.readWithRecovery(textHandler.PLAYER_BIN_FILE_CLIENT_PATH, in -> {
+                isJavaSerialized[0] = dtoCodec.isJavaSerialized(in);
+                return dtoCodec.decodePlayers(in);
+            });
             logHandler.log(textHandler.successReadPlayerBinary(), "loadPlayerDTO",
                     LogHandler.LogLevel.INFO, true);
+
+            if (isJavaSerialized[0]) {
+                logHandler.log(textHandler.migratingBinaryFileMsg(textHandler.PLAYER_BIN_FILE_NAME), "loadPlayerDTO",
+                        LogHandler.LogLevel.INFO, false);
+                savePlayerDTO();
+            }
         } catch (FileNotFoundException e) {
             logHandler.log(textHandler.errorReadPlayerBinary(), "loadPlayerDTO",
                     LogHandler.LogLevel.FAIL, true);
             createNewPlayerBinFile();
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             logHandler.log(textHandler.errorOccurred("Error occurred while loading player binary file", e),
                     "loadPlayerDTO", LogHandler.LogLevel.ERROR, false);
             throw new PlayerDAOException("Failed to load PlayerDTO: " + e.getMessage());
         }
     }
 
+    /*
+     * Encodes the current players and writes them on the persistence thread.
+     */
     @Override
     public void savePlayerDTO() throws PlayerDAOException {
+        byte[] playerBytes;
         try {
-            ObjectOutputStream oos = new ObjectOutputStream(
-                    new FileOutputStream(textHandler.PLAYER_BIN_FILE_CLIENT_PATH));
-            oos.writeObject(playerDTO);
-            oos.close();
-            logHandler.log(textHandler.successSavePlayerBinary(), "savePlayerDTO",
-                    LogHandler.LogLevel.INFO, true);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            dtoCodec.encodePlayers(playerDTO, bos);
+            playerBytes = bos.toByteArray();
         } catch (IOException e) {
             logHandler.log(textHandler.errorOccurred("Error occurred during saving of player binary file", e),
                     "savePlayerDTO", LogHandler.LogLevel.ERROR, false);
             throw new PlayerDAOException("Failed to save PlayerDTO: " + e.getMessage());
         }
+
+        persistenceHandler.submitWrite(textHandler.PLAYER_BIN_FILE_CLIENT_PATH, out -> out.write(playerBytes))
+                .thenRun(() -> logHandler.log(textHandler.successSavePlayerBinary(), "savePlayerDTO",
+                        LogHandler.LogLevel.INFO, true));
     }
 
     @Override
@@ -0,0 +1,199 @@
+package io.iyyel.celestialoutbreak.data.dao;
+
+import io.iyyel.celestialoutbreak.data.dto.HighScoreDTO;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Memory mapped index of the best score of every player on every level,
+ * written next to the high score log so the high scores can be shown at
+ * startup without reading the whole log.
+ *
+ * The file consists of:
+ *   Header:  magic (int), version (short), log length (long), name count (int), level count (int), record count (int)
+ *   Names:   length (int), UTF-8 bytes
+ *   Levels:  level name (int), first record (int), record count (int)
+ *   Records: player name (int), score (long), time (long), has seed (byte), seed (long)
+ *
+ * Names are referred to by their index, -1 being null. The records of a level
+ * are the best score of each player, best first. The log length is the length
+ * of the log the index was written from, a log of another length makes it stale.
+ */
+public final class ScoreIndexFile {
+
+    private static final int INDEX_MAGIC = 0x434F4849;
+    private static final short INDEX_VERSION = 2;
+    private static final int RECORD_SIZE = 29;
+
+    private final MappedByteBuffer buffer;
+    private final long logLength;
+    private final String[] names;
+    private final Map<String, Integer> nameIndexMap = new HashMap<>();
+    private final Map<String, int[]> levelRecordMap = new HashMap<>();
+    private final int recordsOffset;
+    private final int recordCount;
+
+    private ScoreIndexFile(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.getInt() != INDEX_MAGIC) {
+            throw new IOException("Not a high score index file.");
+        }
+        short version = buffer.getShort();
+        if (version != INDEX_VERSION) {
+            throw new IOException("Unsupported high score index version " + version);
+        }
+
+        logLength = buffer.getLong();
+        names = new String[buffer.getInt()];
+        int levelCount = buffer.getInt();
+        recordCount = buffer.getInt();
+
+        for (int i = 0; i < names.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+            nameIndexMap.put(names[i], i);
+        }
+
+        for (int i = 0; i < levelCount; i++) {
+            String levelName = name(buffer.getInt());
+            levelRecordMap.put(levelName, new int[]{buffer.getInt(), buffer.getInt()});
+        }
+
+        recordsOffset = buffer.position();
+        if (recordsOffset + (long) recordCount * RECORD_SIZE > buffer.limit()) {
+            throw new IOException("High score index file is truncated.");
+        }
+    }
+
+    /*
+     * Maps indexFile, only its header, names and levels are read.
+     */
+    public static ScoreIndexFile open(File indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+            return new ScoreIndexFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (RuntimeException e) {
+            /* Buffer underflow or a bad name index. */
+            throw new IOException(e);
+        }
+    }
+
+    /*
+     * Writes an index of levelBestMap, which maps each level
+     * to the best score of each player, best first.
+     */
+    public static void write(OutputStream os, long logLength, Map<String, List<HighScoreDTO>> levelBestMap) throws IOException {
+        Map<String, Integer> nameIndexMap = new HashMap<>();
+        int recordCount = 0;
+        for (Map.Entry<String, List<HighScoreDTO>> entry : levelBestMap.entrySet()) {
+            addName(nameIndexMap, entry.getKey());
+            for (HighScoreDTO dto : entry.getValue()) {
+                addName(nameIndexMap, dto.getPlayer());
+            }
+            recordCount += entry.getValue().size();
+        }
+
+        String[] names = new String[nameIndexMap.size()];
+        for (Map.Entry<String, Integer> entry : nameIndexMap.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(INDEX_MAGIC);
+        out.writeShort(INDEX_VERSION);
+        out.writeLong(logLength);
+        out.writeInt(names.length);
+        out.writeInt(levelBestMap.size());
+        out.writeInt(recordCount);
+
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        int firstRecord = 0;
+        for (Map.Entry<String, List<HighScoreDTO>> entry : levelBestMap.entrySet()) {
+            out.writeInt(nameIndex(nameIndexMap, entry.getKey()));
+            out.writeInt(firstRecord);
+            out.writeInt(entry.getValue().size());
+            firstRecord += entry.getValue().size();
+        }
+
+        for (List<HighScoreDTO> levelBest : levelBestMap.values()) {
+            for (HighScoreDTO dto : levelBest) {
+                out.writeInt(nameIndex(nameIndexMap, dto.getPlayer()));
+                out.writeLong(dto.getScore());
+                out.writeLong(dto.getTime());
+                out.writeBoolean(dto.hasSeed());
+                out.writeLong(dto.getSeed());
+            }
+        }
+        out.flush();
+    }
+
+    public long getLogLength() {
+        return logLength;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public HighScoreDTO getHighScore(String levelName) {
+        int[] range = levelRecordMap.get(levelName);
+        if (range == null || range[1] == 0) {
+            return null;
+        }
+        return readRecord(range[0], levelName);
+    }
+
+    public HighScoreDTO getHighScore(String player, String levelName) {
+        int[] range = levelRecordMap.get(levelName);
+        Integer playerIndex = player == null ? Integer.valueOf(-1) : nameIndexMap.get(player);
+        if (range == null || playerIndex == null) {
+            return null;
+        }
+
+        for (int i = range[0]; i < range[0] + range[1]; i++) {
+            if (buffer.getInt(recordsOffset + i * RECORD_SIZE) == playerIndex) {
+                return readRecord(i, levelName);
+            }
+        }
+        return null;
+    }
+
+    private HighScoreDTO readRecord(int record, String levelName) {
+        int offset = recordsOffset + record * RECORD_SIZE;
+        String player = name(buffer.getInt(offset));
+        long score = buffer.getLong(offset + 4);
+        long time = buffer.getLong(offset + 12);
+        if (buffer.get(offset + 20) != 0) {
+            return new HighScoreDTO(player, levelName, score, time, buffer.getLong(offset + 21));
+        }
+        return new HighScoreDTO(player, levelName, score, time);
+    }
+
+    private String name(int index) {
+        return index == -1 ? null : names[index];
+    }
+
+    private static void addName(Map<String, Integer> nameIndexMap, String name) {
+        if (name != null && !nameIndexMap.containsKey(name)) {
+            nameIndexMap.put(name, nameIndexMap.size());
+        }
+    }
+
+    private static int nameIndex(Map<String, Integer> nameIndexMap, String name) {
+        return name == null ? -1 : nameIndexMap.get(name);
+    }
+
+}
@@ -3,12 +3,27 @@ package io.iyyel.celestialoutbreak.data.dao.interfaces;
 import io.iyyel.celestialoutbreak.data.dto.HighScoreDTO;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface IHighScoreDAO {
 
     void loadHighScoreList() throws HighScoreDAOException;
     void saveHighScoreList() throws HighScoreDAOException;
 
+    /*
+     * Asynchronous persistence, run on the persistence thread. The scores are
+     * loaded once at startup, and isLoaded() tells whether the best scores can
+     * be queried. Queries never wait for the disk, the other queries and the
+     * changes throw a HighScoreDAOException until all scores have been read.
+     * A failed future holds a HighScoreDAOException.
+     */
+    boolean isLoaded();
+    CompletableFuture<Void> loadHighScoreListAsync();
+    CompletableFuture<Void> saveHighScoreListAsync();
+
+    /* Adds and saves dto if it is a new high score of its level, completes with whether it was. */
+    CompletableFuture<Boolean> submitHighScoreAsync(HighScoreDTO dto);
+
     boolean isHighScore(HighScoreDTO dto) throws HighScoreDAOException;
     HighScoreDTO getHighScore(String player, String levelName) throws HighScoreDAOException;
     HighScoreDTO getHighScore(String levelName) throws HighScoreDAOException;
@@ -17,6 +32,19 @@ public interface IHighScoreDAO {
     void removeScore(int index) throws HighScoreDAOException;
     List<HighScoreDTO> getScores()  throws HighScoreDAOException;
 
+    /* Leaderboards, best first. A rank starts at 1, and is 0 if the player has no score on the level. */
+    List<HighScoreDTO> getTopScores(String levelName, int n) throws HighScoreDAOException;
+    List<HighScoreDTO> getTopPlayerScores(String player, int n) throws HighScoreDAOException;
+    int getRank(String player, String levelName) throws HighScoreDAOException;
+
+    /* Listeners are notified after the scores have been loaded, added or removed. */
+    void addChangeListener(HighScoreChangeListener listener);
+    void removeChangeListener(HighScoreChangeListener listener);
+
+    interface HighScoreChangeListener {
+        void onHighScoresChanged();
+    }
+
     class HighScoreDAOException extends Exception {
         public HighScoreDAOException(String msg) {
             super(msg);
@@ -4,16 +4,34 @@ import java.io.Serializable;
 
 public final class HighScoreDTO implements Serializable {
 
+    /* Matches the computed UID of the files written before it was declared. */
+    private static final long serialVersionUID = -9128146036963961438L;
+
     private final String player;
     private final String levelName;
     private final long score;
     private final long time;
 
+    /* The seed of the level the score was reached on. Older scores have none. */
+    private final boolean hasSeed;
+    private final long seed;
+
     public HighScoreDTO(String player, String levelName, long score, long time) {
         this.player = player;
         this.levelName = levelName;
         this.score = score;
         this.time = time;
+        this.hasSeed = false;
+        this.seed = 0;
+    }
+
+    public HighScoreDTO(String player, String levelName, long score, long time, long seed) {
+        this.player = player;
+        this.levelName = levelName;
+        this.score = score;
+        this.time = time;
+        this.hasSeed = true;
+        this.seed = seed;
     }
 
     public String getPlayer() {
@@ -32,4 +50,12 @@ public final class HighScoreDTO implements Serializable {
         return time;
     }
 
+    public boolean hasSeed() {
+        return hasSeed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ import java.util.List;
 
 public final class PlayerDTO implements Serializable {
 
+    /* Matches the computed UID of the files written before it was declared. */
+    private static final long serialVersionUID = 3882586248439568482L;
+
     private final List<String> playerList;
     private String selectedPlayer;
 
@@ -10,22 +10,35 @@ public final class ScreenRenderer {
 
     private final int[] pixels;
 
+    /* RGB value the pixels are currently filled with, only known once isFilled. */
+    private int currentRGB;
+    private boolean isFilled;
+
     public ScreenRenderer(int width, int height, int[] pixels) {
         this.WIDTH = width;
         this.HEIGHT = height;
         this.pixels = pixels;
     }
 
+    /*
+     * Fills the screen with the given color. Nothing is
+     * done if the screen already has that color.
+     */
     public void render(Color color) {
-        for (int y = 0; y < HEIGHT; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                pixels[x + y * WIDTH] = color.getRGB();
-            }
+        int rgb = color.getRGB();
+        if (!isFilled || rgb != currentRGB) {
+            Arrays.fill(pixels, 0, WIDTH * HEIGHT, rgb);
+            currentRGB = rgb;
+            isFilled = true;
         }
     }
 
     public void clear() {
-        Arrays.fill(pixels, 0);
+        if (!isFilled || currentRGB != 0) {
+            Arrays.fill(pixels, 0);
+            currentRGB = 0;
+            isFilled = true;
+        }
     }
 
 }
\ No newline at end of file
@@ -1,19 +1,63 @@
 package io.iyyel.celestialoutbreak.handler;
 
+import io.iyyel.celestialoutbreak.util.LatencyTracker;
+
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /*
  * Singleton class.
+ *
+ * Key events arrive on the AWT event thread and are only put on keyEventQueue
+ * there. Everything else happens on the simulation thread, or the render thread
+ * while it holds the frame lock of GameController: update() drains the queue
+ * once per tick into the held keys and an immutable snapshot of the pressed
+ * buttons, which the getters read for the rest of the tick. A key that is both
+ * pressed and released within one tick still counts as pressed for that tick.
+ *
+ * Each key press is timestamped when it happened, which gives the input to
+ * update latency once update() takes it, and the input to present latency
+ * once the frame drawn after that update is shown, see onFrameRendered()
+ * and onFramePresented().
  */
 public final class InputHandler implements KeyListener {
 
     private static final InputHandler instance;
 
-    private final boolean[] keys = new boolean[1000];
+    /* Button bits of the input snapshot. */
+    private static final int BTN_UP = 1;
+    private static final int BTN_DOWN = 1 << 1;
+    private static final int BTN_LEFT = 1 << 2;
+    private static final int BTN_RIGHT = 1 << 3;
+    private static final int BTN_OK = 1 << 4;
+    private static final int BTN_CANCEL = 1 << 5;
+    private static final int BTN_AUX = 1 << 6;
+    private static final int BTN_PAUSE = 1 << 7;
+
+    /* Must be a power of two. */
+    private static final int KEY_EVENT_QUEUE_CAPACITY = 256;
+
+    private static final int LATENCY_WINDOW_SIZE = 256;
+    private static final int MAX_UNPRESENTED_PRESSES = 64;
 
-    private boolean isUpPressed, isDownPressed, isLeftPressed, isRightPressed;
-    private boolean isAuxPressed, isPausePressed, isOKPressed, isCancelPressed;
+    private final KeyEventQueue keyEventQueue = new KeyEventQueue(KEY_EVENT_QUEUE_CAPACITY);
+
+    /* Key presses taken by update() but not shown on screen yet. */
+    private final long[] unpresentedPressNanos = new long[MAX_UNPRESENTED_PRESSES];
+    private int unpresentedPressCount = 0;
+
+    /* Key presses drawn in the frame being shown, render thread only. */
+    private final long[] renderedPressNanos = new long[MAX_UNPRESENTED_PRESSES];
+    private int renderedPressCount = 0;
+
+    private final LatencyTracker inputToUpdateLatency = new LatencyTracker(LATENCY_WINDOW_SIZE);
+    private final LatencyTracker inputToPresentLatency = new LatencyTracker(LATENCY_WINDOW_SIZE);
+
+    /* Game thread only. */
+    private final boolean[] keys = new boolean[1000];
+    private int inputSnapshot;
 
     private boolean isInputMode = true;
     private String userInput = "";
@@ -34,30 +78,90 @@ public final class InputHandler implements KeyListener {
         return instance;
     }
 
+    /*
+     * Drains the key events of the last tick and takes the new input snapshot.
+     */
     public void update() {
-        isUpPressed = keys[KeyEvent.VK_UP] || keys[KeyEvent.VK_W];
-        isDownPressed = keys[KeyEvent.VK_DOWN] || keys[KeyEvent.VK_S];
-        isLeftPressed = keys[KeyEvent.VK_LEFT] || keys[KeyEvent.VK_A];
-        isRightPressed = keys[KeyEvent.VK_RIGHT] || keys[KeyEvent.VK_D];
+        int pressedButtons = 0;
+        long updateNanos = System.nanoTime();
+
+        while (keyEventQueue.poll()) {
+            int keyCode = keyEventQueue.polledKeyCode;
+            boolean isPressed = keyEventQueue.polledIsPressed;
+
+            if (keyCode >= 0 && keyCode < keys.length) {
+                keys[keyCode] = isPressed;
+            }
 
-        isOKPressed = keys[KeyEvent.VK_Z];
-        isCancelPressed = keys[KeyEvent.VK_X];
-        isAuxPressed = keys[KeyEvent.VK_SPACE];
-        isPausePressed = keys[KeyEvent.VK_P];
+            if (isPressed) {
+                long eventNanos = keyEventQueue.polledEventNanos;
+                inputToUpdateLatency.addSample(updateNanos - eventNanos);
+                if (unpresentedPressCount < unpresentedPressNanos.length) {
+                    unpresentedPressNanos[unpresentedPressCount++] = eventNanos;
+                }
+
+                pressedButtons |= getButton(keyCode);
+                if (isInputMode) {
+                    addToUserInput(keyCode, keyEventQueue.polledKeyChar);
+                }
+            }
+        }
+
+        inputSnapshot = getHeldButtons() | pressedButtons;
     }
 
-    @Override
-    public void keyPressed(KeyEvent e) {
-        keys[e.getKeyCode()] = true;
+    /*
+     * Called under the frame lock once a frame has been drawn, which
+     * contains every key press taken by update() until now.
+     */
+    public void onFrameRendered() {
+        int count = Math.min(unpresentedPressCount, renderedPressNanos.length - renderedPressCount);
+        System.arraycopy(unpresentedPressNanos, 0, renderedPressNanos, renderedPressCount, count);
+        renderedPressCount += count;
+        unpresentedPressCount = 0;
+    }
 
-        if (isInputMode) {
-            addToUserInput(e);
+    /*
+     * Called after the frame drawn last has been shown.
+     */
+    public void onFramePresented() {
+        long presentNanos = System.nanoTime();
+        for (int i = 0; i < renderedPressCount; i++) {
+            inputToPresentLatency.addSample(presentNanos - renderedPressNanos[i]);
         }
+        renderedPressCount = 0;
+    }
+
+    public LatencyTracker getInputToUpdateLatency() {
+        return inputToUpdateLatency;
+    }
+
+    public LatencyTracker getInputToPresentLatency() {
+        return inputToPresentLatency;
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        keyEventQueue.offer(e.getKeyCode(), e.getKeyChar(), true, getEventNanos(e));
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        keys[e.getKeyCode()] = false;
+        keyEventQueue.offer(e.getKeyCode(), e.getKeyChar(), false, getEventNanos(e));
+    }
+
+    /*
+     * KeyEvent.getWhen() is wall clock time, so the nanoTime of the event is found
+     * by going back as long as the event waited before it was dispatched to us.
+     * Events without a plausible time are taken as happening now.
+     */
+    private static long getEventNanos(KeyEvent e) {
+        long now = System.nanoTime();
+        long waitMillis = System.currentTimeMillis() - e.getWhen();
+        if (waitMillis > 0 && waitMillis < 1000) {
+            return now - TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        }
+        return now;
     }
 
     @Override
@@ -66,35 +170,35 @@ public final class InputHandler implements KeyListener {
     }
 
     public boolean isUpPressed() {
-        return isUpPressed;
+        return (inputSnapshot & BTN_UP) != 0;
     }
 
     public boolean isDownPressed() {
-        return isDownPressed;
+        return (inputSnapshot & BTN_DOWN) != 0;
     }
 
     public boolean isLeftPressed() {
-        return isLeftPressed;
+        return (inputSnapshot & BTN_LEFT) != 0;
     }
 
     public boolean isRightPressed() {
-        return isRightPressed;
+        return (inputSnapshot & BTN_RIGHT) != 0;
     }
 
     public boolean isAuxPressed() {
-        return isAuxPressed;
+        return (inputSnapshot & BTN_AUX) != 0;
     }
 
     public boolean isPausePressed() {
-        return isPausePressed;
+        return (inputSnapshot & BTN_PAUSE) != 0;
     }
 
     public boolean isOKPressed() {
-        return isOKPressed;
+        return (inputSnapshot & BTN_OK) != 0;
     }
 
     public boolean isCancelPressed() {
-        return isCancelPressed;
+        return (inputSnapshot & BTN_CANCEL) != 0;
     }
 
     public boolean isInputMode() {
@@ -113,17 +217,141 @@ public final class InputHandler implements KeyListener {
         return userInput;
     }
 
-    private void addToUserInput(KeyEvent e) {
+    private int getHeldButtons() {
+        int buttons = 0;
+        if (keys[KeyEvent.VK_UP] || keys[KeyEvent.VK_W]) {
+            buttons |= BTN_UP;
+        }
+        if (keys[KeyEvent.VK_DOWN] || keys[KeyEvent.VK_S]) {
+            buttons |= BTN_DOWN;
+        }
+        if (keys[KeyEvent.VK_LEFT] || keys[KeyEvent.VK_A]) {
+            buttons |= BTN_LEFT;
+        }
+        if (keys[KeyEvent.VK_RIGHT] || keys[KeyEvent.VK_D]) {
+            buttons |= BTN_RIGHT;
+        }
+        if (keys[KeyEvent.VK_Z]) {
+            buttons |= BTN_OK;
+        }
+        if (keys[KeyEvent.VK_X]) {
+            buttons |= BTN_CANCEL;
+        }
+        if (keys[KeyEvent.VK_SPACE]) {
+            buttons |= BTN_AUX;
+        }
+        if (keys[KeyEvent.VK_P]) {
+            buttons |= BTN_PAUSE;
+        }
+        return buttons;
+    }
+
+    private static int getButton(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_UP:
+            case KeyEvent.VK_W:
+                return BTN_UP;
+            case KeyEvent.VK_DOWN:
+            case KeyEvent.VK_S:
+                return BTN_DOWN;
+            case KeyEvent.VK_LEFT:
+            case KeyEvent.VK_A:
+                return BTN_LEFT;
+            case KeyEvent.VK_RIGHT:
+            case KeyEvent.VK_D:
+                return BTN_RIGHT;
+            case KeyEvent.VK_Z:
+                return BTN_OK;
+            case KeyEvent.VK_X:
+                return BTN_CANCEL;
+            case KeyEvent.VK_SPACE:
+                return BTN_AUX;
+            case KeyEvent.VK_P:
+                return BTN_PAUSE;
+            default:
+                return 0;
+        }
+    }
+
+    private void addToUserInput(int keyCode, char keyChar) {
         // TODO: Remove magic numbers here.
-        if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
+        if (keyCode == KeyEvent.VK_BACK_SPACE) {
             if (userInput.length() <= 1) {
                 userInput = "";
             } else {
                 userInput = userInput.substring(0, userInput.length() - 1);
             }
-        } else if (userInput.length() <= 7 && (Character.isAlphabetic(e.getKeyCode()))) {
-            userInput += e.getKeyChar();
+        } else if (userInput.length() <= 7 && (Character.isAlphabetic(keyCode))) {
+            userInput += keyChar;
+        }
+    }
+
+    /*
+     * Lock-free single producer, single consumer ring buffer of key events.
+     * The AWT event thread offers, the game thread polls. Each slot is written
+     * before tail is published and read before head is published, so the
+     * ordered writes of the AtomicLongs are the only synchronization needed.
+     */
+    private static final class KeyEventQueue {
+
+        private final int mask;
+        private final int[] keyCodes;
+        private final char[] keyChars;
+        private final boolean[] pressed;
+        private final long[] eventNanos;
+
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+
+        /* The event taken by the last successful poll(), game thread only. */
+        private int polledKeyCode;
+        private char polledKeyChar;
+        private boolean polledIsPressed;
+        private long polledEventNanos;
+
+        private KeyEventQueue(int capacity) {
+            mask = capacity - 1;
+            keyCodes = new int[capacity];
+            keyChars = new char[capacity];
+            pressed = new boolean[capacity];
+            eventNanos = new long[capacity];
+        }
+
+        /*
+         * Producer side. The event is dropped if the game thread
+         * has fallen a whole queue of events behind.
+         */
+        private void offer(int keyCode, char keyChar, boolean isPressed, long nanos) {
+            long t = tail.get();
+            if (t - head.get() > mask) {
+                return;
+            }
+
+            int i = (int) t & mask;
+            keyCodes[i] = keyCode;
+            keyChars[i] = keyChar;
+            pressed[i] = isPressed;
+            eventNanos[i] = nanos;
+            tail.lazySet(t + 1);
+        }
+
+        /*
+         * Consumer side, returns false if the queue is empty.
+         */
+        private boolean poll() {
+            long h = head.get();
+            if (h == tail.get()) {
+                return false;
+            }
+
+            int i = (int) h & mask;
+            polledKeyCode = keyCodes[i];
+            polledKeyChar = keyChars[i];
+            polledIsPressed = pressed[i];
+            polledEventNanos = eventNanos[i];
+            head.lazySet(h + 1);
+            return true;
         }
     }
 
-}
\ No newline at end of file
+}
@@ -2,28 +2,56 @@ package io.iyyel.celestialoutbreak.handler;
 
 import io.iyyel.celestialoutbreak.controller.GameController;
 import io.iyyel.celestialoutbreak.level.Level;
-import io.iyyel.celestialoutbreak.util.Util;
+import io.iyyel.celestialoutbreak.level.LevelConfig;
+import io.iyyel.celestialoutbreak.level.LevelConfigCache;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.awt.*;
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public final class LevelHandler {
 
     private final TextHandler textHandler = TextHandler.getInstance();
     private final LogHandler logHandler = LogHandler.getInstance();
     private final FileHandler fileHandler = FileHandler.getInstance();
-    private final Util util = Util.getInstance();
+    private final LevelConfigCache levelConfigCache = LevelConfigCache.getInstance();
 
     private int activeLevelIndex = 0;
     private Level[] levels;
     private String[] levelOptionsFileNames;
 
-    private Color[] levelColors;
-    private String[] levelNames;
-    private int[] levelPlayerLives;
-    private int[] levelBlockAmounts;
-    private int[] levelHitPoints;
+    /*
+     * The level configs are loaded in the background by levelLoaderPool.
+     * Until a level is LOADED its config is null.
+     */
+    public enum LevelLoadState {
+        LOADING,
+        LOADED,
+        FAILED
+    }
+
+    private static final int LEVEL_LOADER_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private AtomicReferenceArray<LevelConfig> levelConfigs;
+    private AtomicReferenceArray<LevelLoadState> levelLoadStates;
+    private ForkJoinPool levelLoaderPool;
+
+    /*
+     * The level under the cursor in SelectLevelScreen is built speculatively
+     * by levelBuilderExecutor. The built Level is handed over to the game thread
+     * through prebuiltLevel, so starting it is just a matter of taking the result.
+     * prebuiltLevel and prebuiltLevelIndex are only accessed by the game thread.
+     */
+    private final ExecutorService levelBuilderExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "LevelBuilder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<Level> prebuiltLevel;
+    private int prebuiltLevelIndex = -1;
 
     private long currentScore = 0;
     private int powerUpHits = 0;
@@ -57,12 +85,12 @@ public final class LevelHandler {
         calculateScore();
 
         if (levels[activeLevelIndex].isWon()) {
-            logHandler.log("Won " + getActiveLevel().getName() + " level!", "update", LogHandler.LogLevel.INFO, true);
+            logHandler.log(textHandler.vLevelWonMsg, getActiveLevel().getName(), "update", LogHandler.LogLevel.INFO, true);
             gameController.switchState(GameController.State.POST_LEVEL);
         }
 
         if (levels[activeLevelIndex].isLost()) {
-            logHandler.log("Lost " + getActiveLevel().getName() + " level!", "update", LogHandler.LogLevel.INFO, true);
+            logHandler.log(textHandler.vLevelLostMsg, getActiveLevel().getName(), "update", LogHandler.LogLevel.INFO, true);
             gameController.switchState(GameController.State.POST_LEVEL);
         }
     }
@@ -88,40 +116,105 @@ public final class LevelHandler {
             levelOptionsFileNames[i] = textHandler.LEVEL_DIR_PATH + File.separator + levelConfigFileList.get(i);
         }
 
-        levelColors = getLevelColorProperties();
-        levelNames = getLevelStringProperties(textHandler.PROP_KEY_LEVEL_NAME);
-        levelPlayerLives = getLevelIntProperties(textHandler.PROP_KEY_LEVEL_PLAYER_LIFE);
-        levelBlockAmounts = getLevelIntProperties(textHandler.PROP_KEY_BLOCK_AMOUNT);
-        levelHitPoints = getLevelIntProperties(textHandler.PROP_KEY_BLOCK_HEALTH);
+        levelConfigs = new AtomicReferenceArray<>(levels.length);
+        levelLoadStates = new AtomicReferenceArray<>(levels.length);
+
+        /*
+         * Each level options file is parsed once, concurrently, while the menus are already shown.
+         * The Level objects later reuse the cached LevelConfig.
+         */
+        levelLoaderPool = new ForkJoinPool(LEVEL_LOADER_PARALLELISM);
+        CompletableFuture<?>[] loadFutures = new CompletableFuture<?>[levels.length];
+
+        for (int i = 0; i < levels.length; i++) {
+            levelLoadStates.set(i, LevelLoadState.LOADING);
+            final int index = i;
+            loadFutures[i] = CompletableFuture.runAsync(() -> loadLevelConfig(index), levelLoaderPool);
+        }
+
+        CompletableFuture.allOf(loadFutures).whenComplete((v, e) -> finishLoadingLevels());
     }
 
-    public void loadLevel(int index) {
-        levels[index] = new Level(levelOptionsFileNames[index], gameController);
+    /*
+     * Parses the level options file of index. A level that fails is
+     * reported and marked FAILED, the remaining levels are unaffected.
+     */
+    private void loadLevelConfig(int index) {
+        String fileName = levelOptionsFileNames[index];
+        try {
+            levelConfigs.set(index, levelConfigCache.getLevelConfig(fileName));
+            levelLoadStates.set(index, LevelLoadState.LOADED);
+        } catch (Exception e) {
+            levelLoadStates.set(index, LevelLoadState.FAILED);
+            logHandler.log(textHandler.errorParsingPropertiesMsg(fileName, ExceptionUtils.getStackTrace(e)), "loadLevelConfig", LogHandler.LogLevel.ERROR, false);
+        }
     }
 
-    private String[] getLevelStringProperties(String pKey) {
-        String[] arr = new String[levels.length];
+    private void finishLoadingLevels() {
+        int failed = 0;
         for (int i = 0; i < levels.length; i++) {
-            arr[i] = fileHandler.readPropertyFromFile(pKey, levelOptionsFileNames[i]);
+            if (levelLoadStates.get(i) == LevelLoadState.FAILED) {
+                failed++;
+            }
         }
-        return arr;
+
+        if (failed > 0) {
+            logHandler.log(textHandler.levelsLoadedMsg(levels.length - failed, levels.length), "finishLoadingLevels", LogHandler.LogLevel.FAIL, false);
+        } else {
+            logHandler.log(textHandler.levelsLoadedMsg(levels.length, levels.length), "finishLoadingLevels", LogHandler.LogLevel.INFO, false);
+        }
+
+        levelLoaderPool.shutdown();
     }
 
-    private Color[] getLevelColorProperties() {
-        Color[] colors = new Color[levels.length];
-        for (int i = 0; i < levels.length; i++) {
-            int levelColorInt = Integer.decode(fileHandler.readPropertyFromFile(textHandler.PROP_KEY_LEVEL_COLOR, levelOptionsFileNames[i]));
-            colors[i] = new Color(levelColorInt);
+    /*
+     * Starts building the level of index in the background, unless it is
+     * already being built. A previously requested level that hasn't started
+     * building yet is cancelled.
+     */
+    public void prebuildLevel(int index) {
+        if (index == prebuiltLevelIndex || !isLevelLoaded(index)) {
+            return;
+        }
+
+        if (prebuiltLevel != null) {
+            prebuiltLevel.cancel(false);
         }
-        return colors;
+
+        final String optionsFileName = levelOptionsFileNames[index];
+        prebuiltLevel = levelBuilderExecutor.submit(() -> new Level(optionsFileName, gameController));
+        prebuiltLevelIndex = index;
+        logHandler.log(textHandler.vLevelPrebuildMsg, index, "prebuildLevel", LogHandler.LogLevel.INFO, true);
     }
 
-    private int[] getLevelIntProperties(String pKey) {
-        int[] arr = new int[levels.length];
-        for (int i = 0; i < levels.length; i++) {
-            arr[i] = Integer.parseInt(fileHandler.readPropertyFromFile(pKey, levelOptionsFileNames[i]));
+    /*
+     * Uses the prebuilt Level if there is one for index, only waiting if it is
+     * still being built. Otherwise the Level is built on the calling thread.
+     */
+    public void loadLevel(int index) {
+        Level level = null;
+
+        if (index == prebuiltLevelIndex) {
+            try {
+                level = prebuiltLevel.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException e) {
+                logHandler.log(textHandler.errorOccurred("Failed to prebuild level " + index, e), "loadLevel", LogHandler.LogLevel.FAIL, false);
+            }
+        }
+
+        if (prebuiltLevel != null) {
+            prebuiltLevel.cancel(false);
+            prebuiltLevel = null;
+            prebuiltLevelIndex = -1;
         }
-        return arr;
+
+        if (level == null) {
+            level = new Level(levelOptionsFileNames[index], gameController);
+        }
+
+        levels[index] = level;
     }
 
     private void calculateScore() {
@@ -136,7 +229,7 @@ public final class LevelHandler {
     }
 
     public void resetActiveLevel() {
-        logHandler.log("Level[" + activeLevelIndex + "] has been reset.", "resetActiveLevel", LogHandler.LogLevel.INFO, true);
+        logHandler.log(textHandler.vLevelResetMsg, activeLevelIndex, "resetActiveLevel", LogHandler.LogLevel.INFO, true);
         currentScore = 0;
         levels[activeLevelIndex] = null;
     }
@@ -157,24 +250,19 @@ public final class LevelHandler {
         this.activeLevelIndex = index;
     }
 
-    public Color[] getLevelColors() {
-        return levelColors;
-    }
-
-    public String[] getLevelNames() {
-        return levelNames;
-    }
-
-    public int[] getLevelPlayerLives() {
-        return levelPlayerLives;
+    /*
+     * Returns null if the level hasn't been loaded (yet).
+     */
+    public LevelConfig getLevelConfig(int index) {
+        return levelConfigs.get(index);
     }
 
-    public int[] getLevelHitPoints() {
-        return levelHitPoints;
+    public LevelLoadState getLevelLoadState(int index) {
+        return levelLoadStates.get(index);
     }
 
-    public int[] getLevelBlockAmounts() {
-        return levelBlockAmounts;
+    public boolean isLevelLoaded(int index) {
+        return levelLoadStates.get(index) == LevelLoadState.LOADED;
     }
 
     public long getCurrentScore() {
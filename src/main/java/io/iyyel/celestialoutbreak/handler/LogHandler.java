@@ -4,6 +4,13 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.io.*;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 public final class LogHandler {
 
@@ -11,6 +18,38 @@ public final class LogHandler {
 
     private final boolean isVerboseLogEnabled;
 
+    /*
+     * Log records are put on logQueue by the logging threads and written
+     * to the log file in batches by logWriterThread, which keeps the file open.
+     * logQueueSize bounds the queue, when it is full new records are either
+     * dropped or the logging thread waits for room, depending on the
+     * LOG_DROP_ON_OVERFLOW_ENABLED option.
+     */
+    private static final int LOG_QUEUE_CAPACITY = 8192;
+    private static final int LOG_BATCH_SIZE = 256;
+    private static final long LOG_WRITER_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long LOG_OVERFLOW_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long LOG_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final Queue<LogRecord> logQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger logQueueSize = new AtomicInteger();
+    private final AtomicLong droppedLogRecords = new AtomicLong();
+    private final Thread logWriterThread;
+    private final boolean isLogDropOnOverflowEnabled;
+    private volatile boolean isShutdown;
+
+    /*
+     * Once the writer thread has terminated, records are written by the
+     * logging thread itself, e.g. those logged by other shutdown hooks.
+     * terminationLock guards isWriterTerminated, and the log file after that.
+     */
+    private final Object terminationLock = new Object();
+    private boolean isWriterTerminated;
+
+    private PrintWriter logWriter;
+    private boolean isLogFileFailed;
+    private final StringBuilder recordBuilder = new StringBuilder(256);
+
     private static final LogHandler instance;
 
     public enum LogLevel {
@@ -19,9 +58,55 @@ public final class LogHandler {
         ERROR
     }
 
+    /*
+     * A log record waiting on the log queue. The time is taken when the
+     * record is logged, the line itself is built by the log writer thread.
+     */
+    private static final class LogRecord {
+        private final long time = System.currentTimeMillis();
+        private final String msg;
+        private final boolean isTemplate;
+        private final int argCount;
+        private final long arg0;
+        private final long arg1;
+        private final String strArg;
+        private final String function;
+        private final LogLevel logLevel;
+
+        private LogRecord(String msg, String function, LogLevel logLevel) {
+            this.msg = msg;
+            this.isTemplate = false;
+            this.argCount = 0;
+            this.arg0 = 0;
+            this.arg1 = 0;
+            this.strArg = null;
+            this.function = function;
+            this.logLevel = logLevel;
+        }
+
+        private LogRecord(String template, int argCount, long arg0, long arg1, String strArg, String function, LogLevel logLevel) {
+            this.msg = template;
+            this.isTemplate = true;
+            this.argCount = argCount;
+            this.arg0 = arg0;
+            this.arg1 = arg1;
+            this.strArg = strArg;
+            this.function = function;
+            this.logLevel = logLevel;
+        }
+    }
+
     private LogHandler() {
+        logWriterThread = new Thread(this::writeLogRecords, "LogWriter");
+        logWriterThread.setDaemon(true);
+
         createLogDir();
-        isVerboseLogEnabled = readIsVerboseLogEnabledProp();
+        isVerboseLogEnabled = readBooleanProp(textHandler.PROP_KEY_VERBOSE_LOG_ENABLED);
+        isLogDropOnOverflowEnabled = readBooleanProp(textHandler.PROP_KEY_LOG_DROP_ON_OVERFLOW_ENABLED);
+
+        /* Write the remaining log records when the JVM shuts down, e.g. from GameController.stop(). */
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "LogShutdown"));
+        logWriterThread.start();
     }
 
     static {
@@ -40,50 +125,253 @@ public final class LogHandler {
         if (isVerboseLog && !isVerboseLogEnabled) {
             return;
         }
+        enqueue(new LogRecord(msg, function, logLevel));
+    }
+
+    /*
+     * Only calls msgSupplier if the record is going to be logged.
+     */
+    public void log(Supplier<String> msgSupplier, String function, LogLevel logLevel, boolean isVerboseLog) {
+        if (isVerboseLog && !isVerboseLogEnabled) {
+            return;
+        }
+        enqueue(new LogRecord(msgSupplier.get(), function, logLevel));
+    }
+
+    /*
+     * The following log methods take a message template in which each '{}'
+     * is replaced by the next argument. The message is only built by the
+     * log writer thread, and only if the record is going to be logged.
+     */
+    public void log(String template, long arg0, String function, LogLevel logLevel, boolean isVerboseLog) {
+        if (isVerboseLog && !isVerboseLogEnabled) {
+            return;
+        }
+        enqueue(new LogRecord(template, 1, arg0, 0, null, function, logLevel));
+    }
+
+    public void log(String template, long arg0, long arg1, String function, LogLevel logLevel, boolean isVerboseLog) {
+        if (isVerboseLog && !isVerboseLogEnabled) {
+            return;
+        }
+        enqueue(new LogRecord(template, 2, arg0, arg1, null, function, logLevel));
+    }
+
+    public void log(String template, String arg0, String function, LogLevel logLevel, boolean isVerboseLog) {
+        if (isVerboseLog && !isVerboseLogEnabled) {
+            return;
+        }
+        enqueue(new LogRecord(template, 0, 0, 0, arg0, function, logLevel));
+    }
+
+    public boolean isVerboseLogEnabled() {
+        return isVerboseLogEnabled;
+    }
+
+    /*
+     * Builds the log line of the record. Only called by the log writer thread.
+     */
+    private String formatLogRecord(LogRecord record) {
+        StringBuilder sb = recordBuilder;
+        sb.setLength(0);
+
+        sb.append(textHandler.logMsgPrefix(record.logLevel, record.time));
 
-        String msgInfo = "Message: N/A";
-        if (msg != null) {
-            msgInfo = "Message: " + msg;
+        if (record.logLevel != null) {
+            sb.append("Level: ").append(record.logLevel.toString());
+        } else {
+            sb.append("Level: N/A");
         }
+        sb.append(", ");
 
-        String functionInfo = "Function: N/A";
-        if (function != null) {
-            functionInfo = " Function: " + function;
+        if (record.function != null) {
+            sb.append(" Function: ").append(record.function);
+        } else {
+            sb.append("Function: N/A");
         }
-        functionInfo += ", ";
+        sb.append(", ");
 
-        String logLevelInfo = "Level: N/A";
-        if (logLevel != null) {
-            logLevelInfo = "Level: " + logLevel.toString();
+        if (record.msg != null) {
+            sb.append("Message: ");
+            if (record.isTemplate) {
+                appendTemplate(sb, record);
+            } else {
+                sb.append(record.msg);
+            }
+        } else {
+            sb.append("Message: N/A");
         }
-        logLevelInfo += ", ";
 
-        msg = textHandler.logMsgPrefix(logLevel) + logLevelInfo + functionInfo + msgInfo;
-        System.out.println(msg);
-        writeToLogFile(msg);
+        return sb.toString();
     }
 
-    private void writeToLogFile(String msg) {
+    private void appendTemplate(StringBuilder sb, LogRecord record) {
+        String template = record.msg;
+        int argIndex = 0;
+        int from = 0;
+        int at;
+
+        while ((at = template.indexOf("{}", from)) != -1) {
+            sb.append(template, from, at);
+            if (record.strArg != null && argIndex == 0) {
+                sb.append(record.strArg);
+            } else if (argIndex == 0 && record.argCount > 0) {
+                sb.append(record.arg0);
+            } else if (argIndex == 1 && record.argCount > 1) {
+                sb.append(record.arg1);
+            } else {
+                sb.append("{}");
+            }
+            argIndex++;
+            from = at + 2;
+        }
+        sb.append(template, from, template.length());
+    }
+
+    /*
+     * Puts the record on the log queue. If the queue is full the record
+     * is either dropped or the calling thread waits until there is room.
+     * The writer thread itself never waits, as it is the one making room.
+     * After the writer thread has terminated the record is written directly.
+     */
+    private void enqueue(LogRecord record) {
+        offer(record);
+
+        /* Once the writer thread has terminated, the logging thread writes the queue itself. */
+        if (isShutdown) {
+            synchronized (terminationLock) {
+                if (isWriterTerminated) {
+                    writeQueuedLogRecords();
+                }
+            }
+        }
+    }
+
+    private void offer(LogRecord record) {
+        int size;
+        while (true) {
+            size = logQueueSize.get();
+            if (size >= LOG_QUEUE_CAPACITY) {
+                if (isLogDropOnOverflowEnabled || isShutdown || Thread.currentThread() == logWriterThread) {
+                    droppedLogRecords.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(logWriterThread);
+                LockSupport.parkNanos(LOG_OVERFLOW_WAIT_NANOS);
+            } else if (logQueueSize.compareAndSet(size, size + 1)) {
+                break;
+            }
+        }
+
+        logQueue.offer(record);
+
+        /* Only wake up the writer when the queue was empty, otherwise it is already busy. */
+        if (size == 0) {
+            LockSupport.unpark(logWriterThread);
+        }
+    }
+
+    /*
+     * Run by logWriterThread. Takes up to LOG_BATCH_SIZE records at a time off
+     * the log queue, writes them and flushes the log file once per batch.
+     */
+    private void writeLogRecords() {
+        while (true) {
+            int written = writeLogBatch();
+
+            if (written == 0) {
+                if (isShutdown && logQueue.isEmpty()) {
+                    break;
+                }
+                LockSupport.parkNanos(this, LOG_WRITER_IDLE_NANOS);
+            }
+        }
+
+        /*
+         * Records may have been put on the queue since it was found empty.
+         * The log file is left open for the records written after this.
+         */
+        synchronized (terminationLock) {
+            writeQueuedLogRecords();
+            isWriterTerminated = true;
+        }
+    }
+
+    private void writeQueuedLogRecords() {
+        while (writeLogBatch() > 0) {
+            /* Until the queue is empty. */
+        }
+    }
+
+    private int writeLogBatch() {
+        int written = 0;
+        LogRecord record;
+
+        while (written < LOG_BATCH_SIZE && (record = logQueue.poll()) != null) {
+            logQueueSize.decrementAndGet();
+            writeLogRecord(formatLogRecord(record));
+            written++;
+        }
+
+        long dropped = droppedLogRecords.getAndSet(0);
+        if (dropped > 0) {
+            log(textHandler.droppedLogRecordsMsg(dropped), "writeLogBatch", LogLevel.FAIL, false);
+        }
+
+        if (written > 0 && logWriter != null) {
+            logWriter.flush();
+        }
+
+        return written;
+    }
+
+    private void writeLogRecord(String record) {
+        System.out.println(record);
+
+        if (logWriter == null && !isLogFileFailed) {
+            openLogFile();
+        }
+
+        if (logWriter != null) {
+            logWriter.append(record).append("\r\n");
+        }
+    }
+
+    /*
+     * Opens the log file for appending. Errors are printed to System.err,
+     * since logging them would put the record right back on the queue.
+     */
+    private void openLogFile() {
         String filePath = textHandler.LOG_FILE_PATH;
         File file = new File(filePath);
 
         if (file.isDirectory()) {
+            isLogFileFailed = true;
             return;
         }
 
         try {
-            if (file.exists()) {
-                try (PrintWriter out = new PrintWriter(new FileOutputStream(file, true))) {
-                    out.append(msg).append("\r\n");
-                }
-            } else {
-                try (PrintWriter out = new PrintWriter(filePath)) {
-                    out.print(msg + "\r\n");
-                }
-                log(textHandler.successCreatedFileMsg(filePath), "writeToLogFile", LogHandler.LogLevel.INFO, false);
+            boolean isNewFile = !file.exists();
+            logWriter = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true))));
+            if (isNewFile) {
+                log(textHandler.successCreatedFileMsg(filePath), "openLogFile", LogHandler.LogLevel.INFO, false);
             }
-        } catch (IOException e) {
-            log(textHandler.errorWritingToFileMsg(filePath, ExceptionUtils.getStackTrace(e)), "writeToLogFile",  LogHandler.LogLevel.ERROR, false);
+        } catch (IOException | SecurityException e) {
+            isLogFileFailed = true;
+            System.err.println(textHandler.errorWritingToFileMsg(filePath, ExceptionUtils.getStackTrace(e)));
+        }
+    }
+
+    /*
+     * Lets the writer thread write out the remaining records and waits for it to finish.
+     */
+    private void shutdown() {
+        isShutdown = true;
+        LockSupport.unpark(logWriterThread);
+        try {
+            logWriterThread.join(LOG_SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -104,15 +392,14 @@ public final class LogHandler {
         }
     }
 
-    private boolean readIsVerboseLogEnabledProp() {
+    private boolean readBooleanProp(String pKey) {
         String filePathClient = textHandler.OPTIONS_CONFIG_FILE_CLIENT_PATH;
-        String pKey = textHandler.PROP_KEY_VERBOSE_LOG_ENABLED;
 
         try {
             return readProperty(pKey, filePathClient);
         } catch (IOException e) {
             /* Dirty hack to fix exception :) */
-            log("Failed to read isVerboseLog property. Returning false as default.", "readIsVerboseLogEnabledProp", LogLevel.FAIL, false);
+            log("Failed to read " + pKey + " property. Returning false as default.", "readBooleanProp", LogLevel.FAIL, false);
             return false;
         }
     }
@@ -8,6 +8,19 @@ public final class OptionsHandler {
 
     private static final OptionsHandler instance;
 
+    /*
+     * The speeds of the levels are pixels per update at REFERENCE_UPDATE_RATE.
+     * At other update rates they are scaled by the tick scale, so the game
+     * plays at the same speed however often it is updated.
+     */
+    public static final int REFERENCE_UPDATE_RATE = 60;
+    private static final int MAX_UPDATE_RATE = 240;
+
+    private int updateRate = REFERENCE_UPDATE_RATE;
+
+    /* Seed of every level, or null for a new seed every level. */
+    private Long gameSeed;
+
     private final TextHandler textHandler = TextHandler.getInstance();
     private final LogHandler logHandler = LogHandler.getInstance();
     private final FileHandler fileHandler = FileHandler.getInstance();
@@ -20,6 +33,8 @@ public final class OptionsHandler {
             put(textHandler.PROP_KEY_GOD_MODE_ENABLED, false);
             put(textHandler.PROP_KEY_FPS_LOCK_ENABLED, false);
             put(textHandler.PROP_KEY_ANTI_ALIASING_ENABLED, false);
+            put(textHandler.PROP_KEY_SWEPT_COLLISION_ENABLED, false);
+            put(textHandler.PROP_KEY_PARALLEL_COLLISION_ENABLED, false);
         }
     };
 
@@ -54,6 +69,8 @@ public final class OptionsHandler {
         Map<String, String> pMap = fileHandler.readPropertiesFromFile(textHandler.OPTIONS_CONFIG_FILE_CLIENT_PATH);
         loadGameOptions(pMap);
         loadColorOptions(pMap);
+        loadUpdateRate(pMap);
+        loadGameSeed(pMap);
     }
 
     private void loadGameOptions(Map<String, String> pMap) {
@@ -76,6 +93,30 @@ public final class OptionsHandler {
         }
     }
 
+    private void loadUpdateRate(Map<String, String> pMap) {
+        String pValue = pMap.get(textHandler.PROP_KEY_UPDATE_RATE);
+        if (pValue != null) {
+            try {
+                updateRate = Math.max(REFERENCE_UPDATE_RATE, Math.min(MAX_UPDATE_RATE, Integer.parseInt(pValue.trim())));
+            } catch (NumberFormatException e) {
+                updateRate = REFERENCE_UPDATE_RATE;
+            }
+        }
+        logHandler.log(textHandler.getUpdateRateLogString(updateRate), "loadUpdateRate", LogHandler.LogLevel.INFO, false);
+    }
+
+    private void loadGameSeed(Map<String, String> pMap) {
+        String pValue = pMap.get(textHandler.PROP_KEY_GAME_SEED);
+        if (pValue != null && !pValue.trim().isEmpty()) {
+            try {
+                gameSeed = Long.decode(pValue.trim());
+            } catch (NumberFormatException e) {
+                gameSeed = null;
+            }
+        }
+        logHandler.log(textHandler.getGameSeedLogString(gameSeed), "loadGameSeed", LogHandler.LogLevel.INFO, false);
+    }
+
     private boolean parseGameOptionProperty(Map<String, String> map, String pKey) {
         return Boolean.parseBoolean(map.get(pKey));
     }
@@ -108,6 +149,33 @@ public final class OptionsHandler {
         return gamePropMap.get(textHandler.PROP_KEY_ANTI_ALIASING_ENABLED);
     }
 
+    public boolean isSweptCollisionEnabled() {
+        return gamePropMap.get(textHandler.PROP_KEY_SWEPT_COLLISION_ENABLED);
+    }
+
+    public boolean isParallelCollisionEnabled() {
+        return gamePropMap.get(textHandler.PROP_KEY_PARALLEL_COLLISION_ENABLED);
+    }
+
+    public int getUpdateRate() {
+        return updateRate;
+    }
+
+    public boolean hasGameSeed() {
+        return gameSeed != null;
+    }
+
+    public long getGameSeed() {
+        return gameSeed;
+    }
+
+    /*
+     * The fraction of an update at REFERENCE_UPDATE_RATE that one update lasts.
+     */
+    public double getTickScale() {
+        return (double) REFERENCE_UPDATE_RATE / updateRate;
+    }
+
     public Color getMenuFontColor() {
         return menuColorPropMap.get(textHandler.PROP_KEY_MENU_FONT_COLOR_HEX);
     }
@@ -0,0 +1,328 @@
+package io.iyyel.celestialoutbreak.handler;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/*
+ * Crash-safe file persistence.
+ *
+ * A file is never written in place. The new content is written to a temporary
+ * file which is forced to disk and then atomically renamed over the file,
+ * after the previous version has been rotated to a backup file. A crash
+ * therefore leaves either the old or the new version of the file, and a file
+ * that still can't be read is recovered from its backup.
+ *
+ * Writes submitted with submitWrite() run on a single persistence thread in
+ * the order they were submitted. Pending writes to the same file are coalesced
+ * so only the latest content is written, and all pending writes are finished
+ * when the JVM shuts down, e.g. from GameController.stop().
+ */
+public final class PersistenceHandler {
+
+    private final TextHandler textHandler = TextHandler.getInstance();
+    private final LogHandler logHandler = LogHandler.getInstance();
+
+    private static final long PERSISTENCE_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final ExecutorService persistenceExecutor;
+    private volatile Thread persistenceThread;
+    private final Map<String, PendingWrite> pendingWriteMap = new ConcurrentHashMap<>();
+
+    private static final PersistenceHandler instance;
+
+    /*
+     * Writes the content of a file to out.
+     */
+    public interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /*
+     * Reads the content of a file from in.
+     */
+    public interface ContentReader<T> {
+        T read(InputStream in) throws IOException;
+    }
+
+    /*
+     * A file operation run on the persistence thread.
+     */
+    public interface PersistenceTask {
+        void run() throws Exception;
+    }
+
+    /*
+     * A file operation run on the persistence thread, which has a result.
+     */
+    public interface PersistenceCallable<T> {
+        T call() throws Exception;
+    }
+
+    private static final class PendingWrite {
+        private volatile ContentWriter writer;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingWrite(ContentWriter writer) {
+            this.writer = writer;
+        }
+    }
+
+    private PersistenceHandler() {
+        persistenceExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "PersistenceWriter");
+            thread.setDaemon(true);
+            persistenceThread = thread;
+            return thread;
+        });
+
+        /* Finish the pending writes when the JVM shuts down. */
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "PersistenceShutdown"));
+    }
+
+    static {
+        try {
+            instance = new PersistenceHandler();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static synchronized PersistenceHandler getInstance() {
+        return instance;
+    }
+
+    /*
+     * Writes filePath on the persistence thread. If a write to filePath
+     * is still pending, its writer is replaced and its future returned.
+     * The writer must only use data that isn't changed afterwards.
+     */
+    public CompletableFuture<Void> submitWrite(String filePath, ContentWriter writer) {
+        PendingWrite[] created = new PendingWrite[1];
+
+        PendingWrite pendingWrite = pendingWriteMap.compute(filePath, (path, current) -> {
+            if (current == null) {
+                created[0] = new PendingWrite(writer);
+                return created[0];
+            }
+            current.writer = writer;
+            return current;
+        });
+
+        if (created[0] != null) {
+            try {
+                persistenceExecutor.execute(() -> runPendingWrite(filePath));
+            } catch (RejectedExecutionException e) {
+                /* Shutting down, write on the calling thread instead. */
+                runPendingWrite(filePath);
+            }
+        }
+
+        return pendingWrite.future;
+    }
+
+    /*
+     * Runs task on the persistence thread, after all writes submitted before it.
+     */
+    public CompletableFuture<Void> submit(String function, PersistenceTask task) {
+        return supply(function, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /*
+     * Runs callable on the persistence thread, after all writes submitted
+     * before it, and completes the returned future with its result.
+     */
+    public <T> CompletableFuture<T> supply(String function, PersistenceCallable<T> callable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable runnable = () -> {
+            try {
+                future.complete(callable.call());
+            } catch (Exception e) {
+                logHandler.log(textHandler.errorOccurred("Error occurred in persistence task", e), function,
+                        LogHandler.LogLevel.ERROR, false);
+                future.completeExceptionally(e);
+            }
+        };
+
+        try {
+            persistenceExecutor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            runnable.run();
+        }
+        return future;
+    }
+
+    /*
+     * Waits until every write submitted so far has been written,
+     * so that a following read sees the latest content. On the
+     * persistence thread itself they already have been.
+     */
+    public void awaitPendingWrites() {
+        if (isPersistenceThread()) {
+            return;
+        }
+
+        try {
+            submit("awaitPendingWrites", () -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            /* The no-op task can't fail. */
+        }
+    }
+
+    /*
+     * Whether the calling thread is the persistence thread, which must
+     * not wait for the tasks submitted after the one it is running.
+     */
+    public boolean isPersistenceThread() {
+        return Thread.currentThread() == persistenceThread;
+    }
+
+    private void runPendingWrite(String filePath) {
+        PendingWrite pendingWrite = pendingWriteMap.remove(filePath);
+        if (pendingWrite == null) {
+            return;
+        }
+
+        try {
+            writeAtomically(filePath, pendingWrite.writer);
+            pendingWrite.future.complete(null);
+        } catch (IOException | RuntimeException e) {
+            logHandler.log(textHandler.errorWritingToFileMsg(filePath, e.getMessage()), "runPendingWrite",
+                    LogHandler.LogLevel.ERROR, false);
+            pendingWrite.future.completeExceptionally(e);
+        }
+    }
+
+    /*
+     * Replaces filePath with the content written by writer. The content is
+     * written to a temporary file and forced to disk, the current file is
+     * rotated to the backup file and the temporary file is renamed to filePath.
+     */
+    public void writeAtomically(String filePath, ContentWriter writer) throws IOException {
+        Path path = Paths.get(filePath);
+        Path tmpPath = Paths.get(filePath + textHandler.TMP_FILE_EXTENSION);
+        Path bakPath = Paths.get(filePath + textHandler.BAK_FILE_EXTENSION);
+
+        try (FileOutputStream fos = new FileOutputStream(tmpPath.toFile())) {
+            BufferedOutputStream out = new BufferedOutputStream(fos);
+            writer.write(out);
+            out.flush();
+            fos.getChannel().force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmpPath);
+            throw e;
+        }
+
+        if (Files.exists(path)) {
+            moveAtomically(path, bakPath);
+        }
+        moveAtomically(tmpPath, path);
+        forceDir(path);
+    }
+
+    /*
+     * Reads filePath with reader. If filePath is missing or can't be read,
+     * the backup file is read instead and copied back to filePath.
+     * Throws FileNotFoundException if neither of the files exist.
+     */
+    public <T> T readWithRecovery(String filePath, ContentReader<T> reader) throws IOException {
+        File file = new File(filePath);
+        File bakFile = new File(filePath + textHandler.BAK_FILE_EXTENSION);
+        IOException readException = null;
+
+        if (file.exists()) {
+            try {
+                return readFile(file, reader);
+            } catch (IOException e) {
+                logHandler.log(textHandler.errorReadingFileMsg(filePath, e.getMessage()), "readWithRecovery",
+                        LogHandler.LogLevel.FAIL, false);
+                readException = e;
+            }
+        }
+
+        if (!bakFile.exists()) {
+            if (readException != null) {
+                throw readException;
+            }
+            throw new FileNotFoundException(filePath);
+        }
+
+        T content = readFile(bakFile, reader);
+        restoreBackup(file, bakFile);
+        logHandler.log(textHandler.successRecoveredFromBackupMsg(filePath, bakFile.getPath()), "readWithRecovery",
+                LogHandler.LogLevel.INFO, false);
+        return content;
+    }
+
+    private <T> T readFile(File file, ContentReader<T> reader) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return reader.read(in);
+        }
+    }
+
+    /*
+     * Replaces the unreadable file with a copy of its backup,
+     * keeping the backup itself in place.
+     */
+    private void restoreBackup(File file, File bakFile) throws IOException {
+        Path tmpPath = Paths.get(file.getPath() + textHandler.TMP_FILE_EXTENSION);
+
+        try (FileChannel src = FileChannel.open(bakFile.toPath(), StandardOpenOption.READ);
+             FileChannel dest = FileChannel.open(tmpPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = src.size();
+            long pos = 0;
+            while (pos < size) {
+                pos += src.transferTo(pos, size - pos, dest);
+            }
+            dest.force(true);
+        }
+
+        moveAtomically(tmpPath, file.toPath());
+        forceDir(file.toPath());
+    }
+
+    private void moveAtomically(Path src, Path dest) throws IOException {
+        try {
+            Files.move(src, dest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(src, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /*
+     * Forces the directory entry of the renamed file to disk. Not every
+     * platform can open a directory, in which case the rename is left
+     * to the file system.
+     */
+    private void forceDir(Path path) {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir == null) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            /* Directory can't be forced on this platform. */
+        }
+    }
+
+    private void shutdown() {
+        persistenceExecutor.shutdown();
+        try {
+            persistenceExecutor.awaitTermination(PERSISTENCE_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -32,6 +32,12 @@ public final class PowerUpHandler {
     }
 
     public void update() {
+        for (PowerUp up : powerUpArray) {
+            if (up != null) {
+                up.storePrevPos();
+            }
+        }
+
         if (isUpdateStopped) {
             return;
         }
@@ -6,8 +6,8 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import javax.sound.sampled.*;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class SoundHandler {
 
@@ -19,7 +19,8 @@ public final class SoundHandler {
 
     private static final SoundHandler instance;
 
-    private final Map<String, SoundClip> soundClipMap = new HashMap<String, SoundClip>() {
+    /* Clips are added by the level builder thread as well, see LevelHandler.prebuildLevel. */
+    private final Map<String, SoundClip> soundClipMap = new ConcurrentHashMap<String, SoundClip>() {
         {
             put(textHandler.SOUND_FILE_NAME_MENU, new SoundClip(textHandler.SOUND_FILE_CLIENT_PATH_MENU));
             put(textHandler.SOUND_FILE_NAME_PAUSE, new SoundClip(textHandler.SOUND_FILE_CLIENT_PATH_PAUSE));
@@ -191,8 +192,12 @@ public final class SoundHandler {
         getSoundClip(textHandler.SOUND_FILE_NAME_BAD_ACTION).reduceClipDB(10);
     }
 
+    /*
+     * Only opens a new clip if there isn't one for fileName already,
+     * since opening an audio line is slow.
+     */
     public void addSoundClip(String fileName, String filePath) {
-        soundClipMap.put(fileName, new SoundClip(filePath));
+        soundClipMap.computeIfAbsent(fileName, k -> new SoundClip(filePath));
     }
 
 }
\ No newline at end of file
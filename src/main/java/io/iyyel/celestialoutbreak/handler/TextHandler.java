@@ -153,7 +153,11 @@ public final class TextHandler {
             "#########################################################################";
 
     public final String logMsgPrefix(LogHandler.LogLevel logLevel) {
-        return "[" + dateFormat.format(new Date()) + "]: ";
+        return logMsgPrefix(logLevel, System.currentTimeMillis());
+    }
+
+    public final String logMsgPrefix(LogHandler.LogLevel logLevel, long timeMillis) {
+        return "[" + dateFormat.format(new Date(timeMillis)) + "]: ";
     }
 
     /*
@@ -185,6 +189,19 @@ public final class TextHandler {
     public final String SCORE_BIN_FILE_NAME = "scores.bin";
     public final String SCORE_BIN_FILE_CLIENT_PATH = SCORE_DIR_PATH + fs + SCORE_BIN_FILE_NAME;
 
+    public final String SCORE_LOG_FILE_NAME = "scores.rec";
+    public final String SCORE_LOG_FILE_CLIENT_PATH = SCORE_DIR_PATH + fs + SCORE_LOG_FILE_NAME;
+
+    public final String SCORE_INDEX_FILE_NAME = "scores.idx";
+    public final String SCORE_INDEX_FILE_CLIENT_PATH = SCORE_DIR_PATH + fs + SCORE_INDEX_FILE_NAME;
+
+    /*
+     * Extensions of the temporary and backup files written next to
+     * a persisted file, see PersistenceHandler.
+     */
+    public final String TMP_FILE_EXTENSION = ".tmp";
+    public final String BAK_FILE_EXTENSION = ".bak";
+
     /*
      * Local font file information.
      */
@@ -345,10 +362,15 @@ public final class TextHandler {
      * Util properties.
      */
     public final String PROP_KEY_VERBOSE_LOG_ENABLED = "VERBOSE_LOG_ENABLED";
+    public final String PROP_KEY_LOG_DROP_ON_OVERFLOW_ENABLED = "LOG_DROP_ON_OVERFLOW_ENABLED";
     public final String PROP_KEY_SOUND_ENABLED = "SOUND_ENABLED";
     public final String PROP_KEY_GOD_MODE_ENABLED = "GOD_MODE_ENABLED";
     public final String PROP_KEY_FPS_LOCK_ENABLED = "FPS_LOCK_ENABLED";
     public final String PROP_KEY_ANTI_ALIASING_ENABLED = "ANTI_ALIASING_ENABLED";
+    public final String PROP_KEY_SWEPT_COLLISION_ENABLED = "SWEPT_COLLISION_ENABLED";
+    public final String PROP_KEY_UPDATE_RATE = "UPDATE_RATE";
+    public final String PROP_KEY_PARALLEL_COLLISION_ENABLED = "PARALLEL_COLLISION_ENABLED";
+    public final String PROP_KEY_GAME_SEED = "GAME_SEED";
 
     /*
      * Menu color properties.
@@ -363,6 +385,14 @@ public final class TextHandler {
         return pKey + ": (" + color.getRed() + ", " + color.getGreen() + ", " + color.getBlue() + ")";
     }
 
+    public String getUpdateRateLogString(int updateRate) {
+        return PROP_KEY_UPDATE_RATE + ": " + updateRate + " updates per second.";
+    }
+
+    public String getGameSeedLogString(Long gameSeed) {
+        return PROP_KEY_GAME_SEED + ": " + (gameSeed == null ? "a new seed every level." : gameSeed + " for every level.");
+    }
+
     public String getGamePropertyLogString(boolean prop, String prefix) {
         if (prop) {
             return prefix + " enabled.";
@@ -395,6 +425,7 @@ public final class TextHandler {
     public final String PROP_KEY_POWERUP_EFFECT_COLOR = "LEVEL_POWERUP_EFFECT_COLOR";
     public final String PROP_KEY_POWERUP_EFFECT_SPEED = "LEVEL_POWERUP_EFFECT_SPEED";
     public final String PROP_KEY_POWERUP_EFFECT_SHAPE = "LEVEL_POWERUP_EFFECT_SHAPE";
+    public final String PROP_KEY_POWERUP_EFFECT_BALL_AMOUNT = "LEVEL_POWERUP_EFFECT_BALL_AMOUNT";
     public final String PROP_KEY_POWERUP_SPAWN_SOUND_FILE_NAME = "LEVEL_POWERUP_SPAWN_SOUND_FILE_NAME";
     public final String PROP_KEY_POWERUP_COLLIDE_SOUND_FILE_NAME = "LEVEL_POWERUP_COLLIDE_SOUND_FILE_NAME";
 
@@ -503,24 +534,44 @@ public final class TextHandler {
         return "Successfully read line '" + line + "' from '" + fileName + "'";
     }
 
+    public final String gameFontLoadedMsg(String filePath, int loadCount) {
+        return "Loaded game font '" + filePath + "', load count: " + loadCount;
+    }
+
     public final String successCreatedFileMsg(String filePath) {
         return "Successfully created file '" + filePath + "'";
     }
 
+    public final String successRecoveredFromBackupMsg(String filePath, String bakFilePath) {
+        return "Successfully recovered '" + filePath + "' from backup file '" + bakFilePath + "'";
+    }
+
     public final String successCreatedDirMsg(String dirPath) {
         return "Successfully created directory '" + dirPath + "'";
     }
 
-    public final String successReadScoreBinary() {
-        return "Successfully read score binary file '" + SCORE_BIN_FILE_NAME + "'";
+    public final String successReadScoreLog(int scores, int deadRecords) {
+        return "Successfully read " + scores + " scores from score log file '" + SCORE_LOG_FILE_NAME + "' (" + deadRecords + " dead records)";
     }
 
-    public final String successReadPlayerBinary() {
-        return "Successfully read player binary file '" + PLAYER_BIN_FILE_NAME + "'";
+    public final String successImportedLegacyScores(int scores) {
+        return "Successfully imported " + scores + " scores from score binary file '" + SCORE_BIN_FILE_NAME + "'";
+    }
+
+    public final String successSaveScoreLog() {
+        return "Successfully saved score log file '" + SCORE_LOG_FILE_NAME + "' at '" + SCORE_LOG_FILE_CLIENT_PATH + "'";
+    }
+
+    public final String successOpenedScoreIndex(int records) {
+        return "Successfully mapped score index file '" + SCORE_INDEX_FILE_NAME + "' with " + records + " best scores";
     }
 
-    public final String successSaveScoreBinary() {
-        return "Successfully saved score binary file '" + SCORE_BIN_FILE_NAME + "' at '" + SCORE_BIN_FILE_CLIENT_PATH + "'";
+    public final String successCompactedScoreLog(int scores, int deadRecords) {
+        return "Successfully compacted score log file '" + SCORE_LOG_FILE_NAME + "' to " + scores + " scores, removed " + deadRecords + " dead records";
+    }
+
+    public final String successReadPlayerBinary() {
+        return "Successfully read player binary file '" + PLAYER_BIN_FILE_NAME + "'";
     }
 
     public final String successSavePlayerBinary() {
@@ -554,14 +605,30 @@ public final class TextHandler {
         return "Failed to create directory '" + dirPath + "' cause '" + errMsg + "'";
     }
 
+    public final String droppedLogRecordsMsg(long amount) {
+        return "Dropped " + amount + " log records due to a full log queue.";
+    }
+
     public final String errorWritingToFileMsg(String filePath, String errMsg) {
         return "Failed writing to '" + filePath + "' cause '" + errMsg + "'";
     }
 
+    public final String errorReadingFileMsg(String filePath, String errMsg) {
+        return "Failed reading from '" + filePath + "' cause '" + errMsg + "'";
+    }
+
     public final String errorCopyingFileMsg(String srcFilePath, String destFilePath, String errMsg) {
         return "Failed to copy '" + srcFilePath + "' to '" + destFilePath + "' cause '" + errMsg + "'";
     }
 
+    public final String levelsLoadedMsg(int loaded, int total) {
+        return "Loaded " + loaded + " of " + total + " levels.";
+    }
+
+    public final String levelSeedMsg(String levelName, long seed) {
+        return "Built level " + levelName + " with seed " + seed + ".";
+    }
+
     public final String errorParsingPropertiesMsg(String filePath, String errMsg) {
         return "Failed parsing properties from file '" + filePath + "' cause '" + errMsg + "'";
     }
@@ -570,8 +637,12 @@ public final class TextHandler {
         return "Failed to create AudioClip from '" + filePath + "' cause '" + errMsg + "'";
     }
 
-    public final String errorReadScoreBinary() {
-        return "Failed to read score binary file '" + SCORE_BIN_FILE_NAME + "'";
+    public final String errorTruncatedScoreLog(long bytes) {
+        return "Score log file '" + SCORE_LOG_FILE_NAME + "' ended with a partial record, truncated " + bytes + " bytes";
+    }
+
+    public final String errorStaleScoreIndex() {
+        return "Score index file '" + SCORE_INDEX_FILE_NAME + "' is out of date with score log file '" + SCORE_LOG_FILE_NAME + "'";
     }
 
     public final String errorReadPlayerBinary() {
@@ -591,8 +662,12 @@ public final class TextHandler {
 
     /* Score messages */
 
-    public final String creatingEmptyBinaryMsg() {
-        return "Creating empty binary score file '" + SCORE_BIN_FILE_NAME + "'";
+    public final String migratingBinaryFileMsg(String fileName) {
+        return "Migrating '" + fileName + "' from Java serialization to the binary file format";
+    }
+
+    public final String creatingEmptyScoreLogMsg() {
+        return "Creating empty score log file '" + SCORE_LOG_FILE_NAME + "'";
     }
 
     /*
@@ -605,9 +680,17 @@ public final class TextHandler {
     public final String vBallTouchedXAxisLeftMsg = "Ball touched left x-axis.";
     public final String vBallTouchedXAxisRightMsg = "Ball touched right x-axis.";
 
-    public final String vBallBlockFieldCollisionMsg(int blockIndex, int blockHealth) {
-        return "Ball collision with BlockField[" + blockIndex + "], Health=" + blockHealth;
-    }
+    /*
+     * Verbose message templates, see LogHandler.
+     */
+    public final String vBallBlockFieldCollisionMsg = "Ball collision with BlockField[{}], Health={}";
+    public final String vBlockDestroyedMsg = "BlockField[{}] has been destroyed.";
+    public final String vPowerUpSpawnedAtMsg = "Spawned power up at Block position ({}, {}).";
+    public final String vPlayerLostLifeMsg = "Player lost a life. Life: {}";
+    public final String vLevelWonMsg = "Won {} level!";
+    public final String vLevelLostMsg = "Lost {} level!";
+    public final String vLevelResetMsg = "Level[{}] has been reset.";
+    public final String vLevelPrebuildMsg = "Prebuilding Level[{}] in the background.";
 
     private final DecimalFormat df = new DecimalFormat("000");
 
@@ -616,6 +699,11 @@ public final class TextHandler {
         return "UPS: " + updates + " - FPS: " + frames;
     }
 
+    public final String vInputLatencyMsg(long updateP50Nanos, long updateP99Nanos, long presentP50Nanos, long presentP99Nanos) {
+        return String.format("Input->Update p50/p99: %.1f/%.1f ms - Input->Present p50/p99: %.1f/%.1f ms",
+                updateP50Nanos / 1e6, updateP99Nanos / 1e6, presentP50Nanos / 1e6, presentP99Nanos / 1e6);
+    }
+
     /*
      * Private helper methods.
      */
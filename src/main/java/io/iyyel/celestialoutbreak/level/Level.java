@@ -1,10 +1,12 @@
 package io.iyyel.celestialoutbreak.level;
 
 import io.iyyel.celestialoutbreak.controller.GameController;
+import io.iyyel.celestialoutbreak.handler.LogHandler;
 import io.iyyel.celestialoutbreak.handler.PowerUpHandler;
 import io.iyyel.celestialoutbreak.handler.SoundHandler;
 import io.iyyel.celestialoutbreak.handler.TextHandler;
 import io.iyyel.celestialoutbreak.ui.entity.Ball;
+import io.iyyel.celestialoutbreak.ui.entity.BallSystem;
 import io.iyyel.celestialoutbreak.ui.entity.BlockField;
 import io.iyyel.celestialoutbreak.ui.entity.Paddle;
 import io.iyyel.celestialoutbreak.ui.entity.effects.Effect;
@@ -13,19 +15,22 @@ import io.iyyel.celestialoutbreak.ui.screen.play.GamePanel;
 import io.iyyel.celestialoutbreak.util.Timer;
 
 import java.awt.*;
-import java.util.Random;
 
 public final class Level {
 
     private final TextHandler textHandler = TextHandler.getInstance();
     private final SoundHandler soundHandler = SoundHandler.getInstance();
     private final PowerUpHandler powerUpHandler = PowerUpHandler.getInstance();
+    private final LogHandler logHandler = LogHandler.getInstance();
+
+    private final LevelRandom levelRandom;
 
     /*
      * Rendering objects
      */
     private Paddle paddle;
     private Ball ball;
+    private BallSystem ballSystem;
     private BlockField blockField;
 
     /*
@@ -99,22 +104,33 @@ public final class Level {
      * Constructor
      */
     public Level(String optionsFileName, GameController gameController) {
+        this(optionsFileName, gameController, LevelRandom.nextLevelSeed());
+    }
+
+    public Level(String optionsFileName, GameController gameController, long seed) {
         levelOptions = new LevelOptions(optionsFileName, gameController);
+        levelRandom = new LevelRandom(seed);
         levelTimer = new Timer();
         pauseTimer = new Timer();
         initLevel(gameController);
+        logHandler.log(textHandler.levelSeedMsg(name, seed), "Level", LogHandler.LogLevel.INFO, false);
     }
 
     public void update() {
+        paddle.storePrevPos();
+        ball.storePrevPos();
+
         updatePause();
         paddle.update();
         ball.update();
+        ballSystem.update();
         gamePanel.update();
     }
 
     public void render(Graphics2D g) {
         paddle.render(g);
         ball.render(g);
+        ballSystem.render(g);
         blockField.render(g);
         gamePanel.render(g);
     }
@@ -162,9 +178,10 @@ public final class Level {
         blockSat = levelOptions.getBlockSat();
 
         /* Create objects after initializing the options */
-        blockField = new BlockField(blockAmount, blockStartPos, blockSpacing, blockDim, blockHitPoints, blockShape, blockLum, blockSat, gameController.getWidth());
+        blockField = new BlockField(blockAmount, blockStartPos, blockSpacing, blockDim, blockHitPoints, blockShape, blockLum, blockSat, gameController.getWidth(), levelRandom.getBlockRandom());
         paddle = new Paddle(paddlePos, paddleDim, paddleShape, paddleColor, paddleSpeed, gameController.getWidth(), blockField);
-        ball = new Ball(ballPos, ballDim, ballShape, ballColor, ballSpeed, gameController.getWidth(), gameController.getHeight(), paddle, blockField);
+        ball = new Ball(ballPos, ballDim, ballShape, ballColor, ballSpeed, gameController.getWidth(), gameController.getHeight(), paddle, blockField, levelRandom.getBallRandom());
+        ballSystem = new BallSystem(ball, paddle, blockField, gameController.getWidth(), gameController.getHeight());
         gamePanel = new GamePanel(gameController, levelOptions);
 
         /* Add level audio to SoundHandler */
@@ -219,6 +236,10 @@ public final class Level {
         return blockField;
     }
 
+    public BallSystem getBallSystem() {
+        return ballSystem;
+    }
+
     public void decPlayerLife() {
         if (playerLife > 0) {
             playerLife -= 1;
@@ -229,12 +250,14 @@ public final class Level {
         pauseDuration = seconds;
         pauseTimer.startTimer();
         ball.stopUpdate();
+        ballSystem.stopUpdate();
         paddle.stopUpdate();
         powerUpHandler.stopUpdate();
     }
 
     private void resume() {
         ball.resumeUpdate();
+        ballSystem.resumeUpdate();
         paddle.resumeUpdate();
         powerUpHandler.resumeUpdate();
     }
@@ -267,11 +290,19 @@ public final class Level {
         soundHandler.getSoundClip(soundFileName).pause();
     }
 
+    public boolean isPowerUpSpawned() {
+        return levelRandom.getPowerUpRandom().nextInt(100) < powerUpChance;
+    }
+
     public Effect getRandomEffect() {
-        int index = new Random().nextInt(effects.length);
+        int index = levelRandom.getPowerUpRandom().nextInt(effects.length);
         return effects[index];
     }
 
+    public long getSeed() {
+        return levelRandom.getSeed();
+    }
+
     public Timer getLevelTimer() {
         return levelTimer;
     }
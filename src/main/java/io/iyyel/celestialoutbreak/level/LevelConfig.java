@@ -0,0 +1,360 @@
+package io.iyyel.celestialoutbreak.level;
+
+import io.iyyel.celestialoutbreak.handler.TextHandler;
+import io.iyyel.celestialoutbreak.ui.interfaces.IEntityRenderable.Shape;
+
+import java.awt.*;
+import java.util.Map;
+
+/*
+ * Immutable, parsed representation of a level options file.
+ * Mutable values such as Point and Dimension are copied when retrieved,
+ * so the same LevelConfig can be shared by every Level created from it.
+ */
+public final class LevelConfig {
+
+    private final String filePath;
+    private final long lastModified;
+
+    /*
+     * Level options.
+     */
+    private final String levelName;
+    private final String levelDesc;
+    private final int levelPlayerLife;
+    private final String levelSoundFileName;
+    private final Color levelColor;
+
+    /*
+     * Power up options.
+     */
+    private final Dimension powerUpDim;
+    private final Shape powerUpShape;
+    private final int powerUpSpeed;
+    private final int powerUpChance;
+
+    /*
+     * Power up effects.
+     */
+    private final EffectConfig[] effectConfigs;
+
+    /*
+     * Paddle options.
+     */
+    private final Point paddlePosOffset;
+    private final Dimension paddleDim;
+    private final Shape paddleShape;
+    private final int paddleSpeed;
+    private final Color paddleColor;
+
+    /*
+     * Ball options.
+     */
+    private final Dimension ballDim;
+    private final Shape ballShape;
+    private final int ballSpeed;
+    private final Color ballColor;
+
+    /*
+     * BlockField options.
+     */
+    private final Point blockPosStart;
+    private final Point blockPosSpacing;
+    private final int blockAmount;
+    private final int blockHitPoints;
+    private final Dimension blockDim;
+    private final Shape blockShape;
+    private final float blockLum;
+    private final float blockSat;
+
+    /*
+     * GamePanel options.
+     */
+    private final Color gamePanelTitleColor;
+    private final Color gamePanelValueColor;
+
+    /*
+     * Parses the properties read from filePath. Any missing or
+     * invalid property results in a RuntimeException.
+     */
+    public LevelConfig(String filePath, long lastModified, Map<String, String> props) {
+        TextHandler textHandler = TextHandler.getInstance();
+
+        this.filePath = filePath;
+        this.lastModified = lastModified;
+
+        /* Level options */
+        levelName = requireProperty(props, textHandler.PROP_KEY_LEVEL_NAME);
+        levelDesc = props.get(textHandler.PROP_KEY_LEVEL_DESC);
+        levelPlayerLife = parseInt(props, textHandler.PROP_KEY_LEVEL_PLAYER_LIFE);
+        levelSoundFileName = props.get(textHandler.PROP_KEY_LEVEL_SOUND_FILE_NAME);
+        levelColor = parseColor(props, textHandler.PROP_KEY_LEVEL_COLOR);
+
+        /* Power up options */
+        powerUpDim = new Dimension(parseInt(props, textHandler.PROP_KEY_POWERUP_WIDTH),
+                parseInt(props, textHandler.PROP_KEY_POWERUP_HEIGHT));
+        powerUpSpeed = parseInt(props, textHandler.PROP_KEY_POWERUP_SPEED);
+        powerUpChance = parseInt(props, textHandler.PROP_KEY_POWERUP_CHANCE);
+        powerUpShape = parseShape(props, textHandler.PROP_KEY_POWERUP_SHAPE);
+
+        int powerUpAmount = parseInt(props, textHandler.PROP_KEY_POWERUP_AMOUNT);
+        effectConfigs = new EffectConfig[powerUpAmount];
+
+        for (int i = 0; i < powerUpAmount; i++) {
+            effectConfigs[i] = new EffectConfig(textHandler, props, i);
+        }
+
+        /* Paddle options */
+        paddlePosOffset = new Point(parseInt(props, textHandler.PROP_KEY_PADDLE_POS_X_OFFSET),
+                parseInt(props, textHandler.PROP_KEY_PADDLE_POS_Y_OFFSET));
+        paddleDim = new Dimension(parseInt(props, textHandler.PROP_KEY_PADDLE_WIDTH),
+                parseInt(props, textHandler.PROP_KEY_PADDLE_HEIGHT));
+        paddleShape = parseShape(props, textHandler.PROP_KEY_PADDLE_SHAPE);
+        paddleSpeed = parseInt(props, textHandler.PROP_KEY_PADDLE_SPEED);
+        paddleColor = parseColor(props, textHandler.PROP_KEY_PADDLE_COLOR);
+
+        /* Ball options */
+        ballDim = new Dimension(parseInt(props, textHandler.PROP_KEY_BALL_WIDTH),
+                parseInt(props, textHandler.PROP_KEY_BALL_HEIGHT));
+        ballShape = parseShape(props, textHandler.PROP_KEY_BALL_SHAPE);
+        ballSpeed = parseInt(props, textHandler.PROP_KEY_BALL_SPEED);
+        ballColor = parseColor(props, textHandler.PROP_KEY_BALL_COLOR);
+
+        /* Block options */
+        blockPosStart = new Point(parseInt(props, textHandler.PROP_KEY_BLOCK_POS_X_START),
+                parseInt(props, textHandler.PROP_KEY_BLOCK_POS_Y_START));
+        blockPosSpacing = new Point(parseInt(props, textHandler.PROP_KEY_BLOCK_POS_X_SPACING),
+                parseInt(props, textHandler.PROP_KEY_BLOCK_POS_Y_SPACING));
+        blockAmount = parseInt(props, textHandler.PROP_KEY_BLOCK_AMOUNT);
+        blockHitPoints = parseInt(props, textHandler.PROP_KEY_BLOCK_HEALTH);
+        blockDim = new Dimension(parseInt(props, textHandler.PROP_KEY_BLOCK_WIDTH),
+                parseInt(props, textHandler.PROP_KEY_BLOCK_HEIGHT));
+        blockShape = parseShape(props, textHandler.PROP_KEY_BLOCK_SHAPE);
+        blockLum = Float.parseFloat(requireProperty(props, textHandler.PROP_KEY_BLOCK_LUMINANCE));
+        blockSat = Float.parseFloat(requireProperty(props, textHandler.PROP_KEY_BLOCK_SATURATION));
+
+        /* GamePanel options */
+        gamePanelTitleColor = parseColor(props, textHandler.PROP_KEY_GAME_PANEL_TITLE_COLOR);
+        gamePanelValueColor = parseColor(props, textHandler.PROP_KEY_GAME_PANEL_VALUE_COLOR);
+    }
+
+    /*
+     * Parsed options of a single power up effect.
+     */
+    public static final class EffectConfig {
+
+        private final String type;
+        private final int duration;
+        private final Dimension dim;
+        private final Shape shape;
+        private final Color color;
+        private final int speed;
+        private final int ballAmount;
+        private final String spawnSoundFileName;
+        private final String collideSoundFileName;
+
+        private EffectConfig(TextHandler textHandler, Map<String, String> props, int num) {
+            type = requireProperty(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_TYPE, num));
+            duration = parseInt(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_DURATION, num));
+            dim = new Dimension(parseInt(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_WIDTH, num)),
+                    parseInt(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_HEIGHT, num)));
+            shape = parseShape(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_SHAPE, num));
+            color = parseColor(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_COLOR, num));
+            speed = parseInt(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_SPEED, num));
+            /* Only multi ball effects spawn balls. */
+            ballAmount = isMultiBallEffect() ?
+                    parseInt(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_BALL_AMOUNT, num)) : 0;
+            spawnSoundFileName = requireProperty(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_SPAWN_SOUND_FILE_NAME, num));
+            collideSoundFileName = requireProperty(props, textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_COLLIDE_SOUND_FILE_NAME, num));
+        }
+
+        public boolean isPaddleEffect() {
+            return type.equals("Paddle");
+        }
+
+        public boolean isMultiBallEffect() {
+            return type.equals("MultiBall");
+        }
+
+        public int getDuration() {
+            return duration;
+        }
+
+        public Dimension getDim() {
+            return new Dimension(dim);
+        }
+
+        public Shape getShape() {
+            return shape;
+        }
+
+        public Color getColor() {
+            return color;
+        }
+
+        public int getSpeed() {
+            return speed;
+        }
+
+        public int getBallAmount() {
+            return ballAmount;
+        }
+
+        public String getSpawnSoundFileName() {
+            return spawnSoundFileName;
+        }
+
+        public String getCollideSoundFileName() {
+            return collideSoundFileName;
+        }
+    }
+
+    private static String requireProperty(Map<String, String> props, String pKey) {
+        String value = props.get(pKey);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing property '" + pKey + "'");
+        }
+        return value;
+    }
+
+    private static int parseInt(Map<String, String> props, String pKey) {
+        return Integer.parseInt(requireProperty(props, pKey));
+    }
+
+    private static Color parseColor(Map<String, String> props, String pKey) {
+        return new Color(Integer.decode(requireProperty(props, pKey)));
+    }
+
+    private static Shape parseShape(Map<String, String> props, String pKey) {
+        return Shape.valueOf(requireProperty(props, pKey));
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+
+    public String getLevelDesc() {
+        return levelDesc;
+    }
+
+    public int getLevelPlayerLife() {
+        return levelPlayerLife;
+    }
+
+    public String getLevelSoundFileName() {
+        return levelSoundFileName;
+    }
+
+    public Color getLevelColor() {
+        return levelColor;
+    }
+
+    public Dimension getPowerUpDim() {
+        return new Dimension(powerUpDim);
+    }
+
+    public Shape getPowerUpShape() {
+        return powerUpShape;
+    }
+
+    public int getPowerUpSpeed() {
+        return powerUpSpeed;
+    }
+
+    public int getPowerUpChance() {
+        return powerUpChance;
+    }
+
+    public int getEffectAmount() {
+        return effectConfigs.length;
+    }
+
+    public EffectConfig getEffectConfig(int index) {
+        return effectConfigs[index];
+    }
+
+    public Point getPaddlePosOffset() {
+        return new Point(paddlePosOffset);
+    }
+
+    public Dimension getPaddleDim() {
+        return new Dimension(paddleDim);
+    }
+
+    public Shape getPaddleShape() {
+        return paddleShape;
+    }
+
+    public int getPaddleSpeed() {
+        return paddleSpeed;
+    }
+
+    public Color getPaddleColor() {
+        return paddleColor;
+    }
+
+    public Dimension getBallDim() {
+        return new Dimension(ballDim);
+    }
+
+    public Shape getBallShape() {
+        return ballShape;
+    }
+
+    public int getBallSpeed() {
+        return ballSpeed;
+    }
+
+    public Color getBallColor() {
+        return ballColor;
+    }
+
+    public Point getBlockPosStart() {
+        return new Point(blockPosStart);
+    }
+
+    public Point getBlockPosSpacing() {
+        return new Point(blockPosSpacing);
+    }
+
+    public int getBlockAmount() {
+        return blockAmount;
+    }
+
+    public int getBlockHitPoints() {
+        return blockHitPoints;
+    }
+
+    public Dimension getBlockDim() {
+        return new Dimension(blockDim);
+    }
+
+    public Shape getBlockShape() {
+        return blockShape;
+    }
+
+    public float getBlockLum() {
+        return blockLum;
+    }
+
+    public float getBlockSat() {
+        return blockSat;
+    }
+
+    public Color getGamePanelTitleColor() {
+        return gamePanelTitleColor;
+    }
+
+    public Color getGamePanelValueColor() {
+        return gamePanelValueColor;
+    }
+
+}
@@ -0,0 +1,57 @@
+package io.iyyel.celestialoutbreak.level;
+
+import io.iyyel.celestialoutbreak.handler.FileHandler;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Caches the parsed LevelConfig of each level options file by its path.
+ * A cached LevelConfig is reused as long as the last modified time of its
+ * file is unchanged, otherwise the file is parsed again.
+ */
+public final class LevelConfigCache {
+
+    private final FileHandler fileHandler = FileHandler.getInstance();
+
+    private final Map<String, LevelConfig> configMap = new ConcurrentHashMap<>();
+
+    private static final LevelConfigCache instance;
+
+    static {
+        try {
+            instance = new LevelConfigCache();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private LevelConfigCache() {
+
+    }
+
+    public synchronized static LevelConfigCache getInstance() {
+        return instance;
+    }
+
+    /*
+     * Returns the LevelConfig of filePath, only reading and parsing the
+     * file if it isn't cached or has been modified since it was cached.
+     * Throws a RuntimeException if the file contains invalid options.
+     */
+    public LevelConfig getLevelConfig(String filePath) {
+        long lastModified = new File(filePath).lastModified();
+
+        LevelConfig config = configMap.get(filePath);
+        if (config != null && config.getLastModified() == lastModified) {
+            return config;
+        }
+
+        Map<String, String> props = fileHandler.readPropertiesFromFile(filePath);
+        config = new LevelConfig(filePath, lastModified, props);
+        configMap.put(filePath, config);
+        return config;
+    }
+
+}
@@ -1,24 +1,22 @@
 package io.iyyel.celestialoutbreak.level;
 
 import io.iyyel.celestialoutbreak.controller.GameController;
-import io.iyyel.celestialoutbreak.handler.FileHandler;
 import io.iyyel.celestialoutbreak.handler.LogHandler;
 import io.iyyel.celestialoutbreak.handler.SoundHandler;
 import io.iyyel.celestialoutbreak.handler.TextHandler;
-import io.iyyel.celestialoutbreak.ui.entity.AbstractEntity;
 import io.iyyel.celestialoutbreak.ui.interfaces.IEntityRenderable.Shape;
 import io.iyyel.celestialoutbreak.ui.entity.effects.BallEffect;
 import io.iyyel.celestialoutbreak.ui.entity.effects.Effect;
+import io.iyyel.celestialoutbreak.ui.entity.effects.MultiBallEffect;
 import io.iyyel.celestialoutbreak.ui.entity.effects.PaddleEffect;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.awt.*;
-import java.util.Map;
 
 public final class LevelOptions {
 
     private final TextHandler textHandler = TextHandler.getInstance();
-    private final FileHandler fileHandler = FileHandler.getInstance();
+    private final LevelConfigCache levelConfigCache = LevelConfigCache.getInstance();
     private final LogHandler logHandler = LogHandler.getInstance();
     private final SoundHandler soundHandler = SoundHandler.getInstance();
 
@@ -106,115 +104,72 @@ public final class LevelOptions {
     }
 
     private void parseLevelOptions(String fileName) {
-        Map<String, String> props = fileHandler.readPropertiesFromFile(fileName);
+        LevelConfig config = levelConfigCache.getLevelConfig(fileName);
 
         /* Level options */
-        levelName = props.get(textHandler.PROP_KEY_LEVEL_NAME);
-        levelDesc = props.get(textHandler.PROP_KEY_LEVEL_DESC);
-        levelPlayerLife = Integer.parseInt(props.get(textHandler.PROP_KEY_LEVEL_PLAYER_LIFE));
-        levelSoundFileName = props.get(textHandler.PROP_KEY_LEVEL_SOUND_FILE_NAME);
-        int levelColorValue = Integer.decode(props.get(textHandler.PROP_KEY_LEVEL_COLOR));
-        levelColor = new Color(levelColorValue);
+        levelName = config.getLevelName();
+        levelDesc = config.getLevelDesc();
+        levelPlayerLife = config.getLevelPlayerLife();
+        levelSoundFileName = config.getLevelSoundFileName();
+        levelColor = config.getLevelColor();
 
         /* Power up options */
-        int powerUpWidth = Integer.parseInt(props.get(textHandler.PROP_KEY_POWERUP_WIDTH));
-        int powerUpHeight = Integer.parseInt(props.get(textHandler.PROP_KEY_POWERUP_HEIGHT));
-        powerUpDim = new Dimension(powerUpWidth, powerUpHeight);
-        powerUpSpeed = Integer.parseInt(props.get(textHandler.PROP_KEY_POWERUP_SPEED));
-        powerUpChance = Integer.parseInt(props.get(textHandler.PROP_KEY_POWERUP_CHANCE));
-        String powerUpShapeStr = props.get(textHandler.PROP_KEY_POWERUP_SHAPE);
-        powerUpShape = AbstractEntity.Shape.valueOf(powerUpShapeStr);
+        powerUpDim = config.getPowerUpDim();
+        powerUpSpeed = config.getPowerUpSpeed();
+        powerUpChance = config.getPowerUpChance();
+        powerUpShape = config.getPowerUpShape();
 
-        int powerUpAmount = Integer.parseInt(props.get(textHandler.PROP_KEY_POWERUP_AMOUNT));
-        effects = new Effect[powerUpAmount];
+        effects = new Effect[config.getEffectAmount()];
 
-        for (int i = 0; i < powerUpAmount; i++) {
-            String pKeyType = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_TYPE, i);
-            String effectType = fileHandler.readPropertyFromFile(pKeyType, fileName);
+        for (int i = 0; i < effects.length; i++) {
+            LevelConfig.EffectConfig effectConfig = config.getEffectConfig(i);
 
-            String pKeyDuration = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_DURATION, i);
-            int effectDuration = Integer.parseInt(fileHandler.readPropertyFromFile(pKeyDuration, fileName));
-
-            String pKeyWidth = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_WIDTH, i);
-            int effectWidth = Integer.parseInt(fileHandler.readPropertyFromFile(pKeyWidth, fileName));
-
-            String pKeyHeight = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_HEIGHT, i);
-            int effectHeight = Integer.parseInt(fileHandler.readPropertyFromFile(pKeyHeight, fileName));
-            Dimension effectDim = new Dimension(effectWidth, effectHeight);
-
-            String pKeyShape = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_SHAPE, i);
-            String effectShapeStr = fileHandler.readPropertyFromFile(pKeyShape, fileName);
-            Shape effectShape = Shape.valueOf(effectShapeStr);
-
-            String pKeyColor = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_COLOR, i);
-            Color effectColor = new Color(Integer.decode(fileHandler.readPropertyFromFile(pKeyColor, fileName)));
-
-            String pKeySpeed = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_EFFECT_SPEED, i);
-            int effectSpeed = Integer.parseInt(fileHandler.readPropertyFromFile(pKeySpeed, fileName));
-
-            String pEffectSpawnSound = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_SPAWN_SOUND_FILE_NAME, i);
-            String effectSpawnSound = fileHandler.readPropertyFromFile(pEffectSpawnSound, fileName);
+            String effectSpawnSound = effectConfig.getSpawnSoundFileName();
             soundHandler.addSoundClip(effectSpawnSound, textHandler.getClientSoundFilePath(effectSpawnSound));
 
-            String pEffectCollideSound = textHandler.powerUpPropNumbered(textHandler.PROP_KEY_POWERUP_COLLIDE_SOUND_FILE_NAME, i);
-            String effectCollideSound = fileHandler.readPropertyFromFile(pEffectCollideSound, fileName);
+            String effectCollideSound = effectConfig.getCollideSoundFileName();
             soundHandler.addSoundClip(effectCollideSound, textHandler.getClientSoundFilePath(effectCollideSound));
 
-            if (effectType.equals("Paddle")) {
-                effects[i] = new PaddleEffect(effectDuration, effectDim, effectShape,
-                        effectColor, effectSpeed, effectSpawnSound, effectCollideSound);
+            if (effectConfig.isPaddleEffect()) {
+                effects[i] = new PaddleEffect(effectConfig.getDuration(), effectConfig.getDim(), effectConfig.getShape(),
+                        effectConfig.getColor(), effectConfig.getSpeed(), effectSpawnSound, effectCollideSound);
+            } else if (effectConfig.isMultiBallEffect()) {
+                effects[i] = new MultiBallEffect(effectConfig.getBallAmount(), effectConfig.getDim(), effectConfig.getShape(),
+                        effectConfig.getColor(), effectConfig.getSpeed(), effectSpawnSound, effectCollideSound);
             } else {
-                effects[i] = new BallEffect(effectDuration, effectDim, effectShape,
-                        effectColor, effectSpeed, effectSpawnSound, effectCollideSound);
+                effects[i] = new BallEffect(effectConfig.getDuration(), effectConfig.getDim(), effectConfig.getShape(),
+                        effectConfig.getColor(), effectConfig.getSpeed(), effectSpawnSound, effectCollideSound);
             }
         }
 
         /* Paddle options */
-        int paddlePosXOffset = Integer.parseInt(props.get(textHandler.PROP_KEY_PADDLE_POS_X_OFFSET));
-        int paddlePosYOffset = Integer.parseInt(props.get(textHandler.PROP_KEY_PADDLE_POS_Y_OFFSET));
-        paddlePos = new Point((gameController.getWidth() / 2) - paddlePosXOffset, gameController.getHeight() - paddlePosYOffset);
-        int paddleWidth = Integer.parseInt(props.get(textHandler.PROP_KEY_PADDLE_WIDTH));
-        int paddleHeight = Integer.parseInt(props.get(textHandler.PROP_KEY_PADDLE_HEIGHT));
-        paddleDim = new Dimension(paddleWidth, paddleHeight);
-        String paddleShapeStr = props.get(textHandler.PROP_KEY_PADDLE_SHAPE);
-        paddleShape = Shape.valueOf(paddleShapeStr);
-        paddleSpeed = Integer.parseInt(props.get(textHandler.PROP_KEY_PADDLE_SPEED));
-        int paddleCol = Integer.decode(props.get(textHandler.PROP_KEY_PADDLE_COLOR));
-        paddleColor = new Color(paddleCol);
+        Point paddlePosOffset = config.getPaddlePosOffset();
+        paddlePos = new Point((gameController.getWidth() / 2) - paddlePosOffset.x, gameController.getHeight() - paddlePosOffset.y);
+        paddleDim = config.getPaddleDim();
+        paddleShape = config.getPaddleShape();
+        paddleSpeed = config.getPaddleSpeed();
+        paddleColor = config.getPaddleColor();
 
         /* Ball options */
-        int ballWidth = Integer.parseInt(props.get(textHandler.PROP_KEY_BALL_WIDTH));
-        int ballHeight = Integer.parseInt(props.get(textHandler.PROP_KEY_BALL_HEIGHT));
-        ballDim = new Dimension(ballWidth, ballHeight);
-        String ballShapeStr = props.get(textHandler.PROP_KEY_BALL_SHAPE);
-        ballShape = Shape.valueOf(ballShapeStr);
-        ballPos = new Point(paddlePos.x + (paddleWidth / 2) - (ballWidth / 2), paddlePos.y - (ballHeight));
-        ballSpeed = Integer.parseInt(props.get(textHandler.PROP_KEY_BALL_SPEED));
-        int ballColorHex = Integer.decode(props.get(textHandler.PROP_KEY_BALL_COLOR));
-        ballColor = new Color(ballColorHex);
+        ballDim = config.getBallDim();
+        ballShape = config.getBallShape();
+        ballPos = new Point(paddlePos.x + (paddleDim.width / 2) - (ballDim.width / 2), paddlePos.y - (ballDim.height));
+        ballSpeed = config.getBallSpeed();
+        ballColor = config.getBallColor();
 
         /* Block options */
-        int blockPosXStart = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_POS_X_START));
-        int blockPosYStart = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_POS_Y_START));
-        blockPosStart = new Point(blockPosXStart, blockPosYStart);
-        int blockPosXSpacing = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_POS_X_SPACING));
-        int blockPosYSpacing = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_POS_Y_SPACING));
-        blockPosSpacing = new Point(blockPosXSpacing, blockPosYSpacing);
-        blockAmount = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_AMOUNT));
-        blockHitPoints = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_HEALTH));
-        int blockWidth = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_WIDTH));
-        int blockHeight = Integer.parseInt(props.get(textHandler.PROP_KEY_BLOCK_HEIGHT));
-        String blockShapeStr = props.get(textHandler.PROP_KEY_BLOCK_SHAPE);
-        blockShape = Shape.valueOf(blockShapeStr);
-        blockDim = new Dimension(blockWidth, blockHeight);
-        blockLum = Float.parseFloat(props.get(textHandler.PROP_KEY_BLOCK_LUMINANCE));
-        blockSat = Float.parseFloat(props.get(textHandler.PROP_KEY_BLOCK_SATURATION));
+        blockPosStart = config.getBlockPosStart();
+        blockPosSpacing = config.getBlockPosSpacing();
+        blockAmount = config.getBlockAmount();
+        blockHitPoints = config.getBlockHitPoints();
+        blockShape = config.getBlockShape();
+        blockDim = config.getBlockDim();
+        blockLum = config.getBlockLum();
+        blockSat = config.getBlockSat();
 
         /* GamePanel options */
-        int gamePanelTitleColorInt = Integer.decode(props.get(textHandler.PROP_KEY_GAME_PANEL_TITLE_COLOR));
-        int gamePanelValueColorInt = Integer.decode(props.get(textHandler.PROP_KEY_GAME_PANEL_VALUE_COLOR));
-        gamePanelTitleColor = new Color(gamePanelTitleColorInt);
-        gamePanelValueColor = new Color(gamePanelValueColorInt);
+        gamePanelTitleColor = config.getGamePanelTitleColor();
+        gamePanelValueColor = config.getGamePanelValueColor();
     }
 
     public String getLevelName() {
@@ -0,0 +1,66 @@
+package io.iyyel.celestialoutbreak.level;
+
+import io.iyyel.celestialoutbreak.handler.OptionsHandler;
+
+import java.util.SplittableRandom;
+
+/*
+ * The randomness of a Level, all drawn from one seed.
+ *
+ * Each part of the game has its own stream split off the seed, so how much
+ * one part draws doesn't change what another part gets. A Level played
+ * again with the same seed and the same input plays out the same way.
+ *
+ * The streams are only used on the thread updating the level, or the
+ * thread building it before that.
+ */
+public final class LevelRandom {
+
+    private final long seed;
+
+    private final SplittableRandom blockRandom;
+    private final SplittableRandom ballRandom;
+    private final SplittableRandom powerUpRandom;
+
+    public LevelRandom(long seed) {
+        this.seed = seed;
+
+        /* The streams are split off in a fixed order, new ones go last. */
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        blockRandom = seedRandom.split();
+        ballRandom = seedRandom.split();
+        powerUpRandom = seedRandom.split();
+    }
+
+    /*
+     * The seed of a Level that isn't given one. That is the GAME_SEED
+     * option if it is set, otherwise a new seed for every Level.
+     */
+    public static long nextLevelSeed() {
+        OptionsHandler optionsHandler = OptionsHandler.getInstance();
+        if (optionsHandler.hasGameSeed()) {
+            return optionsHandler.getGameSeed();
+        }
+        return new SplittableRandom().nextLong();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /* Colors of the blocks. */
+    public SplittableRandom getBlockRandom() {
+        return blockRandom;
+    }
+
+    /* Directions of the ball. */
+    public SplittableRandom getBallRandom() {
+        return ballRandom;
+    }
+
+    /* Spawn chances and effects of the power ups. */
+    public SplittableRandom getPowerUpRandom() {
+        return powerUpRandom;
+    }
+
+}
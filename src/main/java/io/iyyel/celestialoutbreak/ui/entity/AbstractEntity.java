@@ -43,17 +43,21 @@ public abstract class AbstractEntity implements IEntityUpdatable, IEntityRendera
             return;
         }
 
+        render(g, pos.x, pos.y);
+    }
+
+    protected void render(Graphics2D g, int x, int y) {
         g.setColor(col);
         switch (shape) {
             case RECTANGLE:
-                g.fillRect(pos.x, pos.y, dim.width, dim.height);
+                g.fillRect(x, y, dim.width, dim.height);
                 break;
             case ROUND_RECTANGLE:
                 int curve = dim.width < dim.height ? dim.width - dim.width / 4 : dim.height - dim.height / 4;
-                g.fillRoundRect(pos.x, pos.y, dim.width, dim.height, curve, curve);
+                g.fillRoundRect(x, y, dim.width, dim.height, curve, curve);
                 break;
             case OVAL:
-                g.fillOval(pos.x, pos.y, dim.width, dim.height);
+                g.fillOval(x, y, dim.width, dim.height);
                 break;
         }
     }
@@ -74,40 +78,68 @@ public abstract class AbstractEntity implements IEntityUpdatable, IEntityRendera
     }
 
     public boolean intersects(AbstractEntity ent) {
-        return getBounds().intersects(ent.getBounds());
+        return intersects(ent.pos.x, ent.pos.y, ent.dim.width, ent.dim.height);
+    }
+
+    /*
+     * Same semantics as Rectangle.intersects, but without
+     * allocating Rectangle objects on every collision check.
+     */
+    public boolean intersects(int x, int y, int width, int height) {
+        if (dim.width <= 0 || dim.height <= 0 || width <= 0 || height <= 0) {
+            return false;
+        }
+        return x < pos.x + dim.width && pos.x < x + width &&
+                y < pos.y + dim.height && pos.y < y + height;
     }
 
-    protected Rectangle getBounds() {
-        return new Rectangle(pos.x, pos.y, dim.width, dim.height);
+    protected void setPos(int x, int y) {
+        pos.x = x;
+        pos.y = y;
+    }
+
+    /*
+     * Moves the center of this entity to the given point.
+     */
+    protected void setCenter(int centerX, int centerY) {
+        setPos(centerX - dim.width / 2, centerY - dim.height / 2);
     }
 
     protected void fixCollisionXAxis(AbstractEntity ent) {
+        fixCollisionXAxis(ent.pos.x, ent.dim.width);
+    }
+
+    protected void fixCollisionXAxis(int entX, int entWidth) {
         int tCenterX = pos.x + dim.width / 2;
-        int entCenterY = ent.pos.x + ent.dim.width / 2;
+        int entCenterX = entX + entWidth / 2;
 
-        if (tCenterX < entCenterY) {
+        if (tCenterX < entCenterX) {
             // this collides to the left of ent
-            int deltaX = Math.abs(ent.pos.x - (pos.x + dim.width));
-            pos.x -= deltaX;
+            int deltaX = Math.abs(entX - (pos.x + dim.width));
+            setPos(pos.x - deltaX, pos.y);
         } else {
             // this collides to the right of ent
-            int deltaX = Math.abs(pos.x - (ent.pos.x + ent.dim.width));
-            pos.x += deltaX;
+            int deltaX = Math.abs(pos.x - (entX + entWidth));
+            setPos(pos.x + deltaX, pos.y);
         }
     }
 
     protected void fixCollisionYAxis(AbstractEntity ent) {
+        fixCollisionYAxis(ent.pos.y, ent.dim.height);
+    }
+
+    protected void fixCollisionYAxis(int entY, int entHeight) {
         int tCenterY = pos.y + dim.height / 2;
-        int entCenterY = ent.pos.y + ent.dim.height / 2;
+        int entCenterY = entY + entHeight / 2;
 
         if (tCenterY < entCenterY) {
             // this collides with ent on top
-            int deltaY = Math.abs(ent.pos.y - (pos.y + dim.height));
-            pos.y -= deltaY;
+            int deltaY = Math.abs(entY - (pos.y + dim.height));
+            setPos(pos.x, pos.y - deltaY);
         } else {
             // this collides with ent on bottom
-            int deltaY = Math.abs(pos.y - (ent.pos.y + ent.dim.height));
-            pos.y += deltaY;
+            int deltaY = Math.abs(pos.y - (entY + entHeight));
+            setPos(pos.x, pos.y + deltaY);
         }
     }
 
@@ -1,16 +1,99 @@
 package io.iyyel.celestialoutbreak.ui.entity;
 
+import io.iyyel.celestialoutbreak.handler.OptionsHandler;
+
 import java.awt.*;
 
+/*
+ * Mobile entities keep their position of the previous update next to the
+ * current one, so they can be drawn in between the two by the render alpha,
+ * the fraction of an update that has passed since the last update.
+ *
+ * Speeds and velocities are pixels per update at the reference update rate.
+ * move() scales them by tickScale to the actual update rate and keeps the
+ * subpixel part of the position, which pos leaves out.
+ */
 public abstract class AbstractMobileEntity extends AbstractEntity {
 
+    /* Render thread only, set by GameController before each frame. */
+    private static double renderAlpha = 1.0;
+
     protected int speed;
     protected Point velocity;
 
+    protected final double tickScale = OptionsHandler.getInstance().getTickScale();
+
+    /* Subpixel part of the position, between 0 and 1. */
+    private double subX;
+    private double subY;
+
+    private final Point prevPos;
+
     public AbstractMobileEntity(Point pos, Dimension dim, Shape shape, Color col, int speed) {
         super(pos, dim, shape, col);
         this.speed = speed;
         this.velocity = new Point(0, 0);
+        this.prevPos = new Point(pos);
+    }
+
+    public static void setRenderAlpha(double alpha) {
+        renderAlpha = alpha;
+    }
+
+    static double getRenderAlpha() {
+        return renderAlpha;
+    }
+
+    @Override
+    public void render(Graphics2D g) {
+        if (isRenderStopped()) {
+            return;
+        }
+
+        int x = prevPos.x + (int) Math.round((pos.x - prevPos.x) * renderAlpha);
+        int y = prevPos.y + (int) Math.round((pos.y - prevPos.y) * renderAlpha);
+        render(g, x, y);
+    }
+
+    /*
+     * Called before the entity is moved in an update.
+     */
+    public void storePrevPos() {
+        prevPos.x = pos.x;
+        prevPos.y = pos.y;
+    }
+
+    /*
+     * Moves the entity by (dx, dy) pixels, which may be fractions.
+     */
+    protected void move(double dx, double dy) {
+        setSubpixelPos(getSubpixelX() + dx, getSubpixelY() + dy);
+    }
+
+    protected double getSubpixelX() {
+        return pos.x + subX;
+    }
+
+    protected double getSubpixelY() {
+        return pos.y + subY;
+    }
+
+    /*
+     * Places the entity on whole pixels, dropping the subpixel part
+     * so the next move() starts from exactly (x, y).
+     */
+    @Override
+    protected void setPos(int x, int y) {
+        super.setPos(x, y);
+        subX = 0;
+        subY = 0;
+    }
+
+    protected void setSubpixelPos(double x, double y) {
+        pos.x = (int) Math.floor(x);
+        pos.y = (int) Math.floor(y);
+        subX = x - pos.x;
+        subY = y - pos.y;
     }
 
     protected void setVelocity(int speed) {
@@ -37,4 +120,4 @@ public abstract class AbstractMobileEntity extends AbstractEntity {
         }
     }
 
-}
\ No newline at end of file
+}
@@ -6,7 +6,7 @@ import io.iyyel.celestialoutbreak.ui.entity.effects.BallEffect;
 import io.iyyel.celestialoutbreak.util.Util;
 
 import java.awt.*;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public final class Ball extends AbstractMobileEntity {
 
@@ -26,24 +26,39 @@ public final class Ball extends AbstractMobileEntity {
 
     private final Paddle paddle;
     private final BlockField blockField;
+    private final SplittableRandom random;
 
     private final int screenWidth;
     private final int screenHeight;
 
     private BallEffect effect;
 
+    /*
+     * Swept collision. A tick's movement is split at each collision
+     * found along it, up to MAX_SWEPT_BOUNCES times per tick.
+     */
+    private static final int MAX_SWEPT_BOUNCES = 8;
+    private static final double NO_HIT = Double.MAX_VALUE;
+
+    /* Grows when a query finds more blocks than it holds. */
+    private int[] sweptBlockBuffer = new int[256];
+
+    /* Axis of the collision found by the last sweep(). */
+    private boolean isSweptHitXAxis;
+
     private final Dimension origDim;
     private final Shape origShape;
     private final Color origCol;
     private final int origSpeed;
 
     public Ball(Point pos, Dimension dim, Shape shape, Color col, int speed, int screenWidth,
-                int screenHeight, Paddle paddle, BlockField blockField) {
+                int screenHeight, Paddle paddle, BlockField blockField, SplittableRandom random) {
         super(pos, dim, shape, col, speed);
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
         this.paddle = paddle;
         this.blockField = blockField;
+        this.random = random;
 
         this.origDim = dim;
         this.origShape = shape;
@@ -59,10 +74,15 @@ public final class Ball extends AbstractMobileEntity {
 
         if (isStuck) {
             stuck();
+        } else if (optionsHandler.isSweptCollisionEnabled()) {
+            moveSwept();
+            /* The paddle may have moved into the side of the ball. */
+            checkPaddleCollisionXAxis();
+            checkBottomCollision();
         } else {
-            pos.x += velocity.x;
+            move(velocity.x * tickScale, 0);
             checkPaddleCollisionXAxis();
-            pos.y += velocity.y;
+            move(0, velocity.y * tickScale);
             checkPaddleCollisionYAxis();
 
             checkLeftCollision();
@@ -80,7 +100,7 @@ public final class Ball extends AbstractMobileEntity {
     }
 
     private void stuck() {
-        pos = new Point(paddle.pos.x + (paddle.dim.width / 2) - (dim.width / 2), paddle.pos.y - (dim.height));
+        placeOnPaddle();
 
         if (inputHandler.isAuxPressed()) {
             isStuck = false;
@@ -88,6 +108,10 @@ public final class Ball extends AbstractMobileEntity {
         }
     }
 
+    private void placeOnPaddle() {
+        setPos(paddle.pos.x + (paddle.dim.width / 2) - (dim.width / 2), paddle.pos.y - dim.height);
+    }
+
     private void checkLeftCollision() {
         /* Ball hit left x-axis. */
         if (pos.x < 0) {
@@ -121,19 +145,23 @@ public final class Ball extends AbstractMobileEntity {
         if (pos.y > (screenHeight - 35)) {
             isStuck = true;
 
-            // place the ball near the paddle immediately
-            pos = new Point(paddle.pos.x + (paddle.dim.width / 2) - (dim.width / 2), paddle.pos.y - (dim.height));
+            // place the ball near the paddle immediately, without drawing it in between
+            placeOnPaddle();
+            storePrevPos();
 
             // ball now has no velocity
             setVelocity(0);
 
+            // the extra balls are lost with the ball
+            levelHandler.getActiveLevel().getBallSystem().clear();
+
             // play reset sound
             ballResetClip.play(false);
 
             // player lost a life if god mode is not enabled
             if (!optionsHandler.isGodModeEnabled()) {
                 levelHandler.getActiveLevel().decPlayerLife();
-                logHandler.log("Player lost a life. Life: " + levelHandler.getActiveLevel().getPlayerLife(), "checkBottomCollision", LogHandler.LogLevel.INFO, true);
+                logHandler.log(textHandler.vPlayerLostLifeMsg, levelHandler.getActiveLevel().getPlayerLife(), "checkBottomCollision", LogHandler.LogLevel.INFO, true);
             }
 
             logHandler.log(textHandler.vBallTouchedYAxisBottomMsg, "checkBottomCollision", LogHandler.LogLevel.INFO, true);
@@ -169,47 +197,212 @@ public final class Ball extends AbstractMobileEntity {
             return;
         }
 
-        Block block = blockField.getBlock(blockIndex);
+        velocity.y *= -1;
+        hitBlock(blockIndex);
+    }
+
+    /*
+     * Moves the ball by its velocity, stopping at the first collision along
+     * the way with a wall, the paddle or a block. The ball bounces off it and
+     * moves on for the rest of the tick, so it can't pass through anything
+     * no matter its speed. Falling out at the bottom is left to
+     * checkBottomCollision().
+     */
+    private void moveSwept() {
+        double x = getSubpixelX();
+        double y = getSubpixelY();
+        double timeLeft = 1.0;
+
+        for (int bounce = 0; bounce < MAX_SWEPT_BOUNCES && timeLeft > 0; bounce++) {
+            double vx = velocity.x * tickScale * timeLeft;
+            double vy = velocity.y * tickScale * timeLeft;
+
+            /* Walls, a ball already beyond a wall bounces off it right away. */
+            double hitTime = NO_HIT;
+            boolean hitXAxis = false;
+            int wall = 0;
+            if (vx < 0 && -x / vx <= 1) {
+                hitTime = Math.max(0, -x / vx);
+                hitXAxis = true;
+                wall = 1;
+            } else if (vx > 0 && (screenWidth - dim.width - x) / vx <= 1) {
+                hitTime = Math.max(0, (screenWidth - dim.width - x) / vx);
+                hitXAxis = true;
+                wall = 2;
+            }
+            if (vy < 0 && -y / vy <= 1 && Math.max(0, -y / vy) < hitTime) {
+                hitTime = Math.max(0, -y / vy);
+                hitXAxis = false;
+                wall = 3;
+            }
 
-        if (block == null) {
-            return;
+            /* Paddle. */
+            boolean isPaddleHit = false;
+            double paddleTime = sweep(x, y, vx, vy, paddle.pos.x, paddle.pos.y, paddle.dim.width, paddle.dim.height);
+            if (paddleTime < hitTime) {
+                hitTime = paddleTime;
+                hitXAxis = isSweptHitXAxis;
+                isPaddleHit = true;
+            }
+
+            /* Blocks within the area swept by the ball, the lowest index on a tie. */
+            int blockIndex = -1;
+            int areaX = (int) Math.floor(Math.min(x, x + vx));
+            int areaY = (int) Math.floor(Math.min(y, y + vy));
+            int areaWidth = (int) Math.ceil(Math.max(x, x + vx)) - areaX + dim.width;
+            int areaHeight = (int) Math.ceil(Math.max(y, y + vy)) - areaY + dim.height;
+            int count = blockField.query(areaX, areaY, areaWidth, areaHeight, sweptBlockBuffer);
+            if (count > sweptBlockBuffer.length) {
+                sweptBlockBuffer = new int[count];
+                count = blockField.query(areaX, areaY, areaWidth, areaHeight, sweptBlockBuffer);
+            }
+            for (int i = 0; i < count; i++) {
+                int index = sweptBlockBuffer[i];
+                double blockTime = sweep(x, y, vx, vy, blockField.getBlockX(index), blockField.getBlockY(index),
+                        blockField.getBlockWidth(index), blockField.getBlockHeight(index));
+                if (blockTime < hitTime || (blockTime == hitTime && blockIndex != -1 && index < blockIndex)) {
+                    hitTime = blockTime;
+                    hitXAxis = isSweptHitXAxis;
+                    blockIndex = index;
+                    isPaddleHit = false;
+                    wall = 0;
+                }
+            }
+
+            if (hitTime == NO_HIT) {
+                x += vx;
+                y += vy;
+                break;
+            }
+
+            x += vx * hitTime;
+            y += vy * hitTime;
+            timeLeft -= timeLeft * hitTime;
+
+            /* Everything is hit on whole pixels, which rounding errors must not move the ball past. */
+            if (hitXAxis) {
+                x = Math.rint(x);
+                velocity.x *= -1;
+            } else {
+                y = Math.rint(y);
+                velocity.y *= -1;
+            }
+
+            if (blockIndex != -1) {
+                hitBlock(blockIndex);
+            } else if (isPaddleHit) {
+                if (!hitXAxis && velocity.x == 0) {
+                    randomXVelocity();
+                }
+                ballHitClip.play(false);
+            } else {
+                logWallHit(wall);
+                ballHitClip.play(false);
+            }
         }
 
-        velocity.y *= -1;
+        setSubpixelPos(x, y);
+    }
+
+    /*
+     * Returns the fraction of the movement (vx, vy) after which the ball at (x, y)
+     * hits the given box, or NO_HIT if it doesn't within the movement. The ball
+     * must not overlap the box already, and merely touching it is no hit.
+     * Sets isSweptHitXAxis to whether the box is hit on its left or right side.
+     */
+    private double sweep(double x, double y, double vx, double vy, int bx, int by, int bWidth, int bHeight) {
+        double xEntry;
+        double xExit;
+        if (vx > 0) {
+            xEntry = (bx - (x + dim.width)) / vx;
+            xExit = (bx + bWidth - x) / vx;
+        } else if (vx < 0) {
+            xEntry = (bx + bWidth - x) / vx;
+            xExit = (bx - (x + dim.width)) / vx;
+        } else if (x + dim.width <= bx || x >= bx + bWidth) {
+            return NO_HIT;
+        } else {
+            xEntry = Double.NEGATIVE_INFINITY;
+            xExit = Double.POSITIVE_INFINITY;
+        }
+
+        double yEntry;
+        double yExit;
+        if (vy > 0) {
+            yEntry = (by - (y + dim.height)) / vy;
+            yExit = (by + bHeight - y) / vy;
+        } else if (vy < 0) {
+            yEntry = (by + bHeight - y) / vy;
+            yExit = (by - (y + dim.height)) / vy;
+        } else if (y + dim.height <= by || y >= by + bHeight) {
+            return NO_HIT;
+        } else {
+            yEntry = Double.NEGATIVE_INFINITY;
+            yExit = Double.POSITIVE_INFINITY;
+        }
+
+        double entry = Math.max(xEntry, yEntry);
+        double exit = Math.min(xExit, yExit);
+        if (entry >= exit || entry < 0 || entry > 1) {
+            return NO_HIT;
+        }
+
+        isSweptHitXAxis = xEntry > yEntry;
+        return entry;
+    }
+
+    private void logWallHit(int wall) {
+        switch (wall) {
+            case 1:
+                logHandler.log(textHandler.vBallTouchedXAxisLeftMsg, "moveSwept", LogHandler.LogLevel.INFO, true);
+                break;
+            case 2:
+                logHandler.log(textHandler.vBallTouchedXAxisRightMsg, "moveSwept", LogHandler.LogLevel.INFO, true);
+                break;
+            case 3:
+                logHandler.log(textHandler.vBallTouchedYAxisTopMsg, "moveSwept", LogHandler.LogLevel.INFO, true);
+                break;
+        }
+    }
 
+    /*
+     * Also used by BallSystem for the hits of the extra balls.
+     */
+    void hitBlock(int blockIndex) {
         // block was hit
         blockField.hit(blockIndex);
 
         if (blockField.isBlockAlive(blockIndex)) {
             soundHandler.getSoundClip(textHandler.SOUND_FILE_NAME_BALL_HIT).play(false);
-            logHandler.log(textHandler.vBallBlockFieldCollisionMsg(blockIndex, block.getHitPoints()), "checkBlockCollision", LogHandler.LogLevel.INFO, true);
+            logHandler.log(textHandler.vBallBlockFieldCollisionMsg, blockIndex, blockField.getBlockHitPoints(blockIndex), "checkBlockCollision", LogHandler.LogLevel.INFO, true);
         } else {
             /* spawn powerup by chance */
-            boolean spawn = new Random().nextInt(100) < levelHandler.getActiveLevel().getPowerUpChance();
-            if (spawn) {
-                spawnPowerUp(block, levelHandler.getActiveLevel());
+            if (levelHandler.getActiveLevel().isPowerUpSpawned()) {
+                spawnPowerUp(blockIndex, levelHandler.getActiveLevel());
                 logHandler.log("Power up spawned!", "checkBlockCollision", LogHandler.LogLevel.INFO, true);
             }
 
             soundHandler.getSoundClip(textHandler.SOUND_FILE_NAME_BLOCK_DESTROYED).play(false);
             blockField.remove(blockIndex);
-            logHandler.log("BlockField[" + blockIndex + "] has been destroyed.", "checkBlockCollision", LogHandler.LogLevel.INFO, true);
+            logHandler.log(textHandler.vBlockDestroyedMsg, blockIndex, "checkBlockCollision", LogHandler.LogLevel.INFO, true);
         }
     }
 
-    private void spawnPowerUp(Block block, Level level) {
-        Point powerUpPos = new Point(block.pos.x + (block.dim.width / 2) - (level.getPowerUpDim().width / 2), block.pos.y);
+    private void spawnPowerUp(int blockIndex, Level level) {
+        int blockX = blockField.getBlockX(blockIndex);
+        int blockY = blockField.getBlockY(blockIndex);
+        Point powerUpPos = new Point(blockX + (blockField.getBlockWidth(blockIndex) / 2) - (level.getPowerUpDim().width / 2), blockY);
 
         PowerUp powerUp = new PowerUp(powerUpPos,
                 level.getPowerUpDim(),
                 level.getPowerUpShape(),
-                block.col,
+                blockField.getBlockColor(blockIndex),
                 level.getPowerUpSpeed(), screenHeight, paddle, this, level.getRandomEffect());
 
         powerUp.playSpawnClip();
         powerUpHandler.spawnPowerUp(powerUp);
 
-        logHandler.log("Spawned power up at Block position (" + block.pos.x + ", " + block.pos.y + ").", "spawnPowerUp", LogHandler.LogLevel.INFO, true);
+        logHandler.log(textHandler.vPowerUpSpawnedAtMsg, blockX, blockY, "spawnPowerUp", LogHandler.LogLevel.INFO, true);
     }
 
     public void applyEffect(BallEffect effect) {
@@ -218,9 +411,10 @@ public final class Ball extends AbstractMobileEntity {
         }
         this.effect = effect;
         this.effect.activate();
-        Point ballCenter = new Point(pos.x + dim.width / 2, pos.y + dim.height / 2);
-        this.pos = new Point(ballCenter.x - (effect.getDim().width / 2), ballCenter.y - (effect.getDim().height / 2));
+        int centerX = pos.x + dim.width / 2;
+        int centerY = pos.y + dim.height / 2;
         this.dim = effect.getDim();
+        setCenter(centerX, centerY);
         this.shape = effect.getShape();
         this.col = effect.getColor();
         this.speed = effect.getSpeed();
@@ -231,12 +425,12 @@ public final class Ball extends AbstractMobileEntity {
 
     private void updateEffect() {
         if (effect != null && effect.isActive()) {
-            long delta = levelHandler.getActiveLevel().getLevelTimer().getSecondsElapsed() - effect.getStartTime();
-            if (delta > effect.getDuration()) {
+            if (effect.tick()) {
                 effect.deactivate();
-                Point ballCenter = new Point(pos.x + dim.width / 2, pos.y + dim.height / 2);
-                this.pos = new Point(ballCenter.x - (origDim.width / 2), ballCenter.y - (origDim.height / 2));
+                int centerX = pos.x + dim.width / 2;
+                int centerY = pos.y + dim.height / 2;
                 this.dim = origDim;
+                setCenter(centerX, centerY);
                 this.shape = origShape;
                 this.col = origCol;
                 this.speed = origSpeed;
@@ -247,7 +441,6 @@ public final class Ball extends AbstractMobileEntity {
     }
 
     private void randomXVelocity() {
-        Random random = new Random();
         int flag = random.nextInt(2);
         if (flag == 0) {
             velocity.x = speed;
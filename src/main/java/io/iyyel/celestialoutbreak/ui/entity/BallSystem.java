@@ -0,0 +1,355 @@
+package io.iyyel.celestialoutbreak.ui.entity;
+
+import io.iyyel.celestialoutbreak.handler.OptionsHandler;
+import io.iyyel.celestialoutbreak.ui.entity.effects.MultiBallEffect;
+import io.iyyel.celestialoutbreak.ui.interfaces.IEntityRenderable;
+import io.iyyel.celestialoutbreak.ui.interfaces.IEntityUpdatable;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * The extra balls of a level, e.g. spawned by a multi ball power up.
+ *
+ * The balls are stored column wise in parallel primitive arrays, the live
+ * balls being the first ballCount entries. A ball that falls out is replaced
+ * by the last ball, so the live balls stay packed.
+ *
+ * Each update moves every ball and bounces it off the walls and the paddle
+ * in one pass, finding the block each ball overlaps. This pass only reads the
+ * blocks and each ball only writes its own entries, so with many balls it is
+ * split over the common ForkJoinPool. The block hits are then resolved
+ * serially in ball order, so a block hit by several balls in the same update
+ * only takes the hits it has hit points for, and the outcome is the same as
+ * that of a serial pass. Hits go through the player's ball, which scores
+ * them and spawns power ups.
+ */
+public final class BallSystem implements IEntityUpdatable, IEntityRenderable {
+
+    private final OptionsHandler optionsHandler = OptionsHandler.getInstance();
+
+    private static final int MAX_BALL_AMOUNT = 1000;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /* The move pass runs in parallel from this many balls, in chunks of BALLS_PER_TASK. */
+    private static final int PARALLEL_BALL_THRESHOLD = 256;
+    private static final int BALLS_PER_TASK = 64;
+
+    private final Ball ball;
+    private final Paddle paddle;
+    private final BlockField blockField;
+    private final int screenWidth;
+    private final int screenHeight;
+    private final double tickScale = optionsHandler.getTickScale();
+
+    private int ballCount = 0;
+    private double[] ballX = new double[INITIAL_CAPACITY];
+    private double[] ballY = new double[INITIAL_CAPACITY];
+    private int[] prevBallX = new int[INITIAL_CAPACITY];
+    private int[] prevBallY = new int[INITIAL_CAPACITY];
+    private int[] ballVelX = new int[INITIAL_CAPACITY];
+    private int[] ballVelY = new int[INITIAL_CAPACITY];
+    private int[] ballSpeed = new int[INITIAL_CAPACITY];
+    private int[] ballWidth = new int[INITIAL_CAPACITY];
+    private int[] ballHeight = new int[INITIAL_CAPACITY];
+    private int[] ballRgb = new int[INITIAL_CAPACITY];
+    private Shape[] ballShape = new Shape[INITIAL_CAPACITY];
+    private boolean[] isBallOut = new boolean[INITIAL_CAPACITY];
+
+    /* The block hit by each ball in the current update, or -1. */
+    private int[] ballHitBlock = new int[INITIAL_CAPACITY];
+
+    private boolean updateStopped;
+    private boolean renderStopped;
+
+    public BallSystem(Ball ball, Paddle paddle, BlockField blockField, int screenWidth, int screenHeight) {
+        this.ball = ball;
+        this.paddle = paddle;
+        this.blockField = blockField;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+    }
+
+    /*
+     * Spawns the balls of effect on top of the paddle, spread out upwards.
+     * Balls beyond MAX_BALL_AMOUNT are not spawned.
+     */
+    public void spawnBalls(MultiBallEffect effect) {
+        int amount = Math.min(effect.getBallAmount(), MAX_BALL_AMOUNT - ballCount);
+        Dimension dim = effect.getDim();
+        int speed = effect.getSpeed();
+        int rgb = effect.getColor().getRGB();
+        double x = paddle.pos.x + (paddle.dim.width - dim.width) / 2.0;
+        double y = paddle.pos.y - dim.height;
+
+        for (int i = 0; i < amount; i++) {
+            /* From left to right, from -speed to speed. */
+            int velX = amount == 1 ? speed : (int) Math.round(speed * (2.0 * i / (amount - 1) - 1));
+            spawnBall(x, y, velX, -speed, speed, dim.width, dim.height, rgb, effect.getShape());
+        }
+    }
+
+    private void spawnBall(double x, double y, int velX, int velY, int speed, int width, int height, int rgb, Shape shape) {
+        if (ballCount == ballX.length) {
+            grow();
+        }
+
+        int i = ballCount++;
+        ballX[i] = x;
+        ballY[i] = y;
+        prevBallX[i] = (int) Math.floor(x);
+        prevBallY[i] = (int) Math.floor(y);
+        ballVelX[i] = velX;
+        ballVelY[i] = velY;
+        ballSpeed[i] = speed;
+        ballWidth[i] = width;
+        ballHeight[i] = height;
+        ballRgb[i] = rgb;
+        ballShape[i] = shape;
+        isBallOut[i] = false;
+    }
+
+    private void grow() {
+        int capacity = Math.min(MAX_BALL_AMOUNT, ballX.length * 2);
+        ballX = Arrays.copyOf(ballX, capacity);
+        ballY = Arrays.copyOf(ballY, capacity);
+        prevBallX = Arrays.copyOf(prevBallX, capacity);
+        prevBallY = Arrays.copyOf(prevBallY, capacity);
+        ballVelX = Arrays.copyOf(ballVelX, capacity);
+        ballVelY = Arrays.copyOf(ballVelY, capacity);
+        ballSpeed = Arrays.copyOf(ballSpeed, capacity);
+        ballWidth = Arrays.copyOf(ballWidth, capacity);
+        ballHeight = Arrays.copyOf(ballHeight, capacity);
+        ballRgb = Arrays.copyOf(ballRgb, capacity);
+        ballShape = Arrays.copyOf(ballShape, capacity);
+        isBallOut = Arrays.copyOf(isBallOut, capacity);
+        ballHitBlock = Arrays.copyOf(ballHitBlock, capacity);
+    }
+
+    @Override
+    public void update() {
+        for (int i = 0; i < ballCount; i++) {
+            prevBallX[i] = (int) Math.floor(ballX[i]);
+            prevBallY[i] = (int) Math.floor(ballY[i]);
+        }
+
+        if (isUpdateStopped() || ballCount == 0) {
+            return;
+        }
+
+        int taskCount = (ballCount + BALLS_PER_TASK - 1) / BALLS_PER_TASK;
+        if (isParallel()) {
+            ForkJoinPool.commonPool().invoke(new MoveTask(0, taskCount));
+        } else {
+            moveBalls(0, taskCount);
+        }
+
+        resolveBlockHits();
+        removeBallsOut();
+    }
+
+    private boolean isParallel() {
+        return ballCount >= PARALLEL_BALL_THRESHOLD && optionsHandler.isParallelCollisionEnabled() &&
+                ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /*
+     * Moves the balls of the tasks from firstTask up to lastTask.
+     */
+    private void moveBalls(int firstTask, int lastTask) {
+        for (int task = firstTask; task < lastTask; task++) {
+            int end = Math.min(ballCount, (task + 1) * BALLS_PER_TASK);
+            for (int i = task * BALLS_PER_TASK; i < end; i++) {
+                moveBall(i);
+            }
+        }
+    }
+
+    /*
+     * Splits the tasks in halves until single tasks are left.
+     */
+    private final class MoveTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int firstTask;
+        private final int lastTask;
+
+        private MoveTask(int firstTask, int lastTask) {
+            this.firstTask = firstTask;
+            this.lastTask = lastTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastTask - firstTask <= 1) {
+                moveBalls(firstTask, lastTask);
+                return;
+            }
+            int mid = (firstTask + lastTask) >>> 1;
+            invokeAll(new MoveTask(firstTask, mid), new MoveTask(mid, lastTask));
+        }
+    }
+
+    /*
+     * Moves the ball at i like the player's ball without swept collision,
+     * and finds the block it overlaps afterwards. Only the entries of ball i
+     * are written, so balls can be moved concurrently.
+     */
+    private void moveBall(int i) {
+        ballHitBlock[i] = -1;
+
+        int width = ballWidth[i];
+        int height = ballHeight[i];
+
+        ballX[i] += ballVelX[i] * tickScale;
+        if (ballX[i] < 0) {
+            ballVelX[i] = ballSpeed[i];
+        } else if (ballX[i] > screenWidth - width) {
+            ballVelX[i] = -ballSpeed[i];
+        }
+
+        ballY[i] += ballVelY[i] * tickScale;
+        if (ballY[i] < 0) {
+            ballVelY[i] = ballSpeed[i];
+        }
+
+        int x = (int) Math.floor(ballX[i]);
+        int y = (int) Math.floor(ballY[i]);
+
+        /* Bounce up off the paddle, and set down on top of it. */
+        if (ballVelY[i] > 0 && paddle.intersects(x, y, width, height)) {
+            ballVelY[i] = -ballVelY[i];
+            ballY[i] = paddle.pos.y - height;
+            y = (int) Math.floor(ballY[i]);
+            if (ballVelX[i] == 0) {
+                ballVelX[i] = (i & 1) == 0 ? ballSpeed[i] : -ballSpeed[i];
+            }
+        }
+
+        /* -35 because of Game Panel */
+        if (y > screenHeight - 35) {
+            isBallOut[i] = true;
+            return;
+        }
+
+        ballHitBlock[i] = blockField.queryLowest(x, y, width, height);
+    }
+
+    /*
+     * Every ball that hit a block bounces off it, in ball order. The block is only
+     * hit if it is still alive, as the hits of lower balls may have destroyed it.
+     */
+    private void resolveBlockHits() {
+        for (int i = 0; i < ballCount; i++) {
+            int blockIndex = ballHitBlock[i];
+            /* An earlier ball may have destroyed the block already, then this one passes through. */
+            if (blockIndex != -1 && blockField.isBlockAlive(blockIndex)) {
+                ballVelY[i] *= -1;
+                ball.hitBlock(blockIndex);
+            }
+        }
+    }
+
+    private void removeBallsOut() {
+        for (int i = ballCount - 1; i >= 0; i--) {
+            if (isBallOut[i]) {
+                int last = --ballCount;
+                ballX[i] = ballX[last];
+                ballY[i] = ballY[last];
+                prevBallX[i] = prevBallX[last];
+                prevBallY[i] = prevBallY[last];
+                ballVelX[i] = ballVelX[last];
+                ballVelY[i] = ballVelY[last];
+                ballSpeed[i] = ballSpeed[last];
+                ballWidth[i] = ballWidth[last];
+                ballHeight[i] = ballHeight[last];
+                ballRgb[i] = ballRgb[last];
+                ballShape[i] = ballShape[last];
+                isBallOut[i] = isBallOut[last];
+                ballShape[last] = null;
+            }
+        }
+    }
+
+    @Override
+    public void render(Graphics2D g) {
+        if (isRenderStopped()) {
+            return;
+        }
+
+        double alpha = AbstractMobileEntity.getRenderAlpha();
+        Color col = null;
+        for (int i = 0; i < ballCount; i++) {
+            if (col == null || col.getRGB() != ballRgb[i]) {
+                col = new Color(ballRgb[i], true);
+                g.setColor(col);
+            }
+
+            int curX = (int) Math.floor(ballX[i]);
+            int curY = (int) Math.floor(ballY[i]);
+            int x = prevBallX[i] + (int) Math.round((curX - prevBallX[i]) * alpha);
+            int y = prevBallY[i] + (int) Math.round((curY - prevBallY[i]) * alpha);
+            int width = ballWidth[i];
+            int height = ballHeight[i];
+
+            switch (ballShape[i]) {
+                case RECTANGLE:
+                    g.fillRect(x, y, width, height);
+                    break;
+                case ROUND_RECTANGLE:
+                    int curve = width < height ? width - width / 4 : height - height / 4;
+                    g.fillRoundRect(x, y, width, height, curve, curve);
+                    break;
+                case OVAL:
+                    g.fillOval(x, y, width, height);
+                    break;
+            }
+        }
+    }
+
+    public int getBallCount() {
+        return ballCount;
+    }
+
+    /* Removes every ball, e.g. when the ball they were spawned from is lost. */
+    public void clear() {
+        for (int i = 0; i < ballCount; i++) {
+            ballShape[i] = null;
+        }
+        ballCount = 0;
+    }
+
+    @Override
+    public void stopUpdate() {
+        updateStopped = true;
+    }
+
+    @Override
+    public void resumeUpdate() {
+        updateStopped = false;
+    }
+
+    @Override
+    public boolean isUpdateStopped() {
+        return updateStopped;
+    }
+
+    @Override
+    public void stopRender() {
+        renderStopped = true;
+    }
+
+    @Override
+    public void resumeRender() {
+        renderStopped = false;
+    }
+
+    @Override
+    public boolean isRenderStopped() {
+        return renderStopped;
+    }
+
+}
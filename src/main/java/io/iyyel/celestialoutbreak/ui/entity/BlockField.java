@@ -7,6 +7,10 @@ import io.iyyel.celestialoutbreak.ui.interfaces.IEntityUpdatable;
 import io.iyyel.celestialoutbreak.util.Util;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
 
 public final class BlockField implements IEntityUpdatable, IEntityRenderable {
 
@@ -22,17 +26,62 @@ public final class BlockField implements IEntityUpdatable, IEntityRenderable {
     private final float lum;
     private final float sat;
     private final int screenWidth;
+    private final SplittableRandom random;
 
     private int totalBlocksLeft;
     private int totalHitPointsLeft;
 
-    private final Block[] blockArr;
+    /*
+     * The blocks are stored column wise in parallel primitive arrays,
+     * indexed by block index. A block exists as long as its bit is
+     * set in liveBlocks.
+     */
+    private final int[] blockX;
+    private final int[] blockY;
+    private final int[] blockWidth;
+    private final int[] blockHeight;
+    private final int[] blockRgb;
+    private final int[] blockHitPoints;
+    private final BitSet liveBlocks;
+
+    /*
+     * Uniform grid used as a spatial index over the blocks.
+     * The indices of the blocks overlapping a cell are stored back to back
+     * in gridCells, starting at gridCellStart[cell], of which the first
+     * gridCellCount[cell] entries are still alive.
+     */
+    private int gridX;
+    private int gridY;
+    private int gridCellWidth;
+    private int gridCellHeight;
+    private int gridCols;
+    private int gridRows;
+    private int[] gridCellStart;
+    private int[] gridCellCount;
+    private int[] gridCells;
+
+    /* Reusable buffer for the dirty block queries, grows when a query finds more blocks than it holds. */
+    private int[] queryBuffer = new int[64];
+
+    /*
+     * The blocks are drawn once into blockLayer, which is then drawn
+     * to the screen every frame. Blocks that have been hit or removed
+     * are queued in dirtyBlocks, and only their area of the layer
+     * is repainted on the next render.
+     */
+    private BufferedImage blockLayer;
+    private boolean isBlockLayerAntiAliased;
+    private int blockLayerWidth;
+    private int blockLayerHeight;
+    private final int[] dirtyBlocks;
+    private final BitSet dirtyFlags;
+    private int dirtyCount;
 
     private boolean updateStopped;
     private boolean renderStopped;
 
     public BlockField(int amount, Point startPos, Point spacing, Dimension dim, int hitPoints,
-                      Shape shape, float lum, float sat, int screenWidth) {
+                      Shape shape, float lum, float sat, int screenWidth, SplittableRandom random) {
         this.amount = amount;
         this.startPos = startPos;
         this.spacing = spacing;
@@ -42,11 +91,22 @@ public final class BlockField implements IEntityUpdatable, IEntityRenderable {
         this.lum = lum;
         this.sat = sat;
         this.screenWidth = screenWidth;
+        this.random = random;
 
         this.totalBlocksLeft = amount;
         this.totalHitPointsLeft = getTotalHitPoints();
 
-        this.blockArr = initBlocks();
+        this.blockX = new int[amount];
+        this.blockY = new int[amount];
+        this.blockWidth = new int[amount];
+        this.blockHeight = new int[amount];
+        this.blockRgb = new int[amount];
+        this.blockHitPoints = new int[amount];
+        this.liveBlocks = new BitSet(amount);
+        this.dirtyBlocks = new int[amount];
+        this.dirtyFlags = new BitSet(amount);
+
+        initBlocks();
     }
 
     @Override
@@ -55,28 +115,128 @@ public final class BlockField implements IEntityUpdatable, IEntityRenderable {
             return;
         }
 
-        /* Disable anti-aliasing for blocks due to performance reasons. */
-        if (optionsHandler.isAntiAliasingEnabled()) {
-            if (shape.equals(Shape.RECTANGLE)) {
-                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
-            }
+        boolean antiAliased = optionsHandler.isAntiAliasingEnabled() && !shape.equals(Shape.RECTANGLE);
+
+        if (blockLayer == null || isBlockLayerAntiAliased != antiAliased) {
+            paintBlockLayer(g.getDeviceConfiguration(), antiAliased);
+        } else if (dirtyCount > 0) {
+            paintDirtyBlocks();
         }
 
-        /* Render the blocks if they exist, i.e. if they aren't equal to null. */
-        for (Block block : blockArr) {
-            if (block != null) {
-                block.render(g);
-            }
+        if (blockLayer != null) {
+            g.drawImage(blockLayer, 0, 0, null);
         }
+    }
+
+    /*
+     * Paints every live block into a new block layer.
+     */
+    private void paintBlockLayer(GraphicsConfiguration gc, boolean antiAliased) {
+        clearDirtyBlocks();
 
-        /* Re-enables anti-aliasing when blocks have been rendered. */
-        if (optionsHandler.isAntiAliasingEnabled()) {
-            if (shape.equals(Shape.RECTANGLE)) {
-                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        if (blockLayerWidth <= 0 || blockLayerHeight <= 0) {
+            return;
+        }
+
+        blockLayer = gc.createCompatibleImage(blockLayerWidth, blockLayerHeight, Transparency.TRANSLUCENT);
+        isBlockLayerAntiAliased = antiAliased;
+
+        Graphics2D lg = createBlockLayerGraphics();
+        Color col = null;
+        for (int i = liveBlocks.nextSetBit(0); i >= 0; i = liveBlocks.nextSetBit(i + 1)) {
+            col = renderBlock(i, col, lg);
+        }
+        lg.dispose();
+    }
+
+    /*
+     * Clears the area of each dirty block in the block layer and repaints
+     * the live blocks overlapping that area, clipped to it.
+     */
+    private void paintDirtyBlocks() {
+        Graphics2D lg = createBlockLayerGraphics();
+        Color col = null;
+
+        for (int d = 0; d < dirtyCount; d++) {
+            int index = dirtyBlocks[d];
+            /* One pixel of margin for anti-aliased edges. */
+            int x = blockX[index] - 1;
+            int y = blockY[index] - 1;
+            int width = blockWidth[index] + 2;
+            int height = blockHeight[index] + 2;
+
+            lg.setClip(x, y, width, height);
+            lg.setComposite(AlphaComposite.Clear);
+            lg.fillRect(x, y, width, height);
+            lg.setComposite(AlphaComposite.SrcOver);
+
+            /* Repaint in index order, so overlapping blocks stack as in a full paint. */
+            int count = query(x, y, width, height, queryBuffer);
+            if (count > queryBuffer.length) {
+                queryBuffer = new int[count];
+                count = query(x, y, width, height, queryBuffer);
+            }
+            Arrays.sort(queryBuffer, 0, count);
+            for (int i = 0; i < count; i++) {
+                col = renderBlock(queryBuffer[i], col, lg);
             }
         }
+
+        lg.dispose();
+        clearDirtyBlocks();
+    }
+
+    private Graphics2D createBlockLayerGraphics() {
+        Graphics2D lg = blockLayer.createGraphics();
+        /* Anti-aliasing is always disabled for rectangle blocks due to performance reasons. */
+        if (isBlockLayerAntiAliased) {
+            lg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        } else {
+            lg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        }
+        return lg;
+    }
+
+    private void markDirty(int index) {
+        if (!dirtyFlags.get(index)) {
+            dirtyFlags.set(index);
+            dirtyBlocks[dirtyCount++] = index;
+        }
+    }
+
+    private void clearDirtyBlocks() {
+        dirtyFlags.clear();
+        dirtyCount = 0;
+    }
+
+    /*
+     * Renders the block at index, only creating a new Color
+     * if it differs from the one last used.
+     */
+    private Color renderBlock(int index, Color col, Graphics2D g) {
+        if (col == null || col.getRGB() != (0xFF000000 | blockRgb[index])) {
+            col = new Color(blockRgb[index]);
+            g.setColor(col);
+        }
+
+        int x = blockX[index];
+        int y = blockY[index];
+        int width = blockWidth[index];
+        int height = blockHeight[index];
+
+        switch (shape) {
+            case RECTANGLE:
+                g.fillRect(x, y, width, height);
+                break;
+            case ROUND_RECTANGLE:
+                int curve = width < height ? width - width / 4 : height - height / 4;
+                g.fillRoundRect(x, y, width, height, curve, curve);
+                break;
+            case OVAL:
+                g.fillOval(x, y, width, height);
+                break;
+        }
+        return col;
     }
 
     @Override
@@ -100,11 +260,7 @@ public final class BlockField implements IEntityUpdatable, IEntityRenderable {
             return;
         }
 
-        for (Block block : blockArr) {
-            if (block != null) {
-                block.update();
-            }
-        }
+        /* Blocks don't move.. yet, so there is nothing to update per block. */
     }
 
     @Override
@@ -122,42 +278,172 @@ public final class BlockField implements IEntityUpdatable, IEntityRenderable {
         return updateStopped;
     }
 
-    private Block[] initBlocks() {
-        Block[] arr = new Block[amount];
-        int initX = startPos.x;
-        for (int i = 0; i < arr.length; i++) {
-            /* Instantiate Block object. */
-            Point pos = new Point(startPos);
-            Color col = util.generatePastelColor(lum, sat);
-            /* speed is sat to 0 because we don't want the blocks to really move.. yet. */
-            arr[i] = new Block(pos, dim, shape, col, 0, hitPoints);
+    private void initBlocks() {
+        int x = startPos.x;
+        int y = startPos.y;
+        for (int i = 0; i < amount; i++) {
+            blockX[i] = x;
+            blockY[i] = y;
+            blockWidth[i] = dim.width;
+            blockHeight[i] = dim.height;
+            blockRgb[i] = util.generatePastelRGB(random, lum, sat);
+            blockHitPoints[i] = hitPoints;
 
             /*
-             * Adds spacing and extra width for the new block
-             * object to be created.
+             * Adds spacing and extra width for the next
+             * block to be created.
              */
-            startPos.x += dim.width + spacing.x;
+            x += dim.width + spacing.x;
 
             /* Make sure to wrap around the screen. */
-            if (startPos.x + dim.width >= screenWidth) {
-                startPos.y += spacing.y;
-                startPos.x = initX;
+            if (x + dim.width >= screenWidth) {
+                y += spacing.y;
+                x = startPos.x;
             }
         }
-        return arr;
+        liveBlocks.set(0, amount);
+
+        initGrid();
     }
 
-    public Block getBlock(int index) {
-        if (index >= 0 && index < blockArr.length
-                && blockArr[index] != null) {
-            return blockArr[index];
+    private void initGrid() {
+        /* Cells are as big as the distance between two neighbouring blocks. */
+        gridCellWidth = Math.max(1, dim.width + spacing.x);
+        gridCellHeight = Math.max(1, Math.max(dim.height, spacing.y));
+
+        if (amount == 0) {
+            gridCellStart = new int[0];
+            gridCellCount = new int[0];
+            gridCells = new int[0];
+            return;
+        }
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+
+        for (int i = 0; i < amount; i++) {
+            minX = Math.min(minX, blockX[i]);
+            minY = Math.min(minY, blockY[i]);
+            maxX = Math.max(maxX, blockX[i] + blockWidth[i]);
+            maxY = Math.max(maxY, blockY[i] + blockHeight[i]);
+        }
+
+        gridX = minX;
+        gridY = minY;
+        blockLayerWidth = maxX;
+        blockLayerHeight = maxY;
+        gridCols = Math.max(1, (maxX - minX + gridCellWidth - 1) / gridCellWidth);
+        gridRows = Math.max(1, (maxY - minY + gridCellHeight - 1) / gridCellHeight);
+
+        /* First pass counts the blocks per cell, second pass fills the cells. */
+        int cellAmount = gridCols * gridRows;
+        gridCellStart = new int[cellAmount];
+        gridCellCount = new int[cellAmount];
+
+        int total = 0;
+        for (int i = 0; i < amount; i++) {
+            int c0 = getGridCol(blockX[i]);
+            int c1 = getGridCol(blockX[i] + blockWidth[i] - 1);
+            int r0 = getGridRow(blockY[i]);
+            int r1 = getGridRow(blockY[i] + blockHeight[i] - 1);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    gridCellCount[r * gridCols + c]++;
+                    total++;
+                }
+            }
         }
-        return null;
+
+        gridCells = new int[total];
+        for (int cell = 0, start = 0; cell < cellAmount; cell++) {
+            gridCellStart[cell] = start;
+            start += gridCellCount[cell];
+            gridCellCount[cell] = 0;
+        }
+
+        for (int i = 0; i < amount; i++) {
+            int c0 = getGridCol(blockX[i]);
+            int c1 = getGridCol(blockX[i] + blockWidth[i] - 1);
+            int r0 = getGridRow(blockY[i]);
+            int r1 = getGridRow(blockY[i] + blockHeight[i] - 1);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int cell = r * gridCols + c;
+                    gridCells[gridCellStart[cell] + gridCellCount[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    private void removeFromGrid(int index) {
+        int c0 = getGridCol(blockX[index]);
+        int c1 = getGridCol(blockX[index] + blockWidth[index] - 1);
+        int r0 = getGridRow(blockY[index]);
+        int r1 = getGridRow(blockY[index] + blockHeight[index] - 1);
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * gridCols + c;
+                int start = gridCellStart[cell];
+                int last = start + gridCellCount[cell] - 1;
+                /* Swap the removed index with the last live index of the cell. */
+                for (int i = start; i <= last; i++) {
+                    if (gridCells[i] == index) {
+                        gridCells[i] = gridCells[last];
+                        gridCellCount[cell]--;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private int getGridCol(int x) {
+        return Math.floorDiv(x - gridX, gridCellWidth);
+    }
+
+    private int getGridRow(int y) {
+        return Math.floorDiv(y - gridY, gridCellHeight);
+    }
+
+    /*
+     * Whether the block at index still exists, i.e. hasn't been removed.
+     */
+    public boolean hasBlock(int index) {
+        return index >= 0 && index < amount && liveBlocks.get(index);
+    }
+
+    public int getBlockX(int index) {
+        return blockX[index];
+    }
+
+    public int getBlockY(int index) {
+        return blockY[index];
+    }
+
+    public int getBlockWidth(int index) {
+        return blockWidth[index];
+    }
+
+    public int getBlockHeight(int index) {
+        return blockHeight[index];
+    }
+
+    public Color getBlockColor(int index) {
+        return new Color(blockRgb[index]);
+    }
+
+    public int getBlockHitPoints(int index) {
+        return blockHitPoints[index];
     }
 
     public void remove(int index) {
-        if (index >= 0 && index < blockArr.length) {
-            blockArr[index] = null;
+        if (hasBlock(index)) {
+            removeFromGrid(index);
+            liveBlocks.clear(index);
+            markDirty(index);
             totalBlocksLeft--;
         }
     }
@@ -179,28 +465,109 @@ public final class BlockField implements IEntityUpdatable, IEntityRenderable {
     }
 
     public void hit(int index) {
-        if (index >= 0 && index < blockArr.length &&
-                blockArr[index] != null) {
+        if (hasBlock(index)) {
             totalHitPointsLeft--;
-            blockArr[index].hit();
+            if (blockHitPoints[index] > 0) {
+                blockHitPoints[index]--;
+            }
+            markDirty(index);
         }
     }
 
     public boolean isBlockAlive(int index) {
-        if (index >= 0 && index < blockArr.length &&
-                blockArr[index] != null) {
-            return blockArr[index].isAlive();
-        }
-        return false;
+        return hasBlock(index) && blockHitPoints[index] > 0;
     }
 
+    /*
+     * Returns the lowest index of the blocks intersecting the entity, or -1 if none.
+     */
     public int intersects(AbstractEntity entity) {
-        for (int i = 0; i < blockArr.length; i++) {
-            if (blockArr[i] != null && blockArr[i].intersects(entity)) {
-                return i;
+        return queryLowest(entity.pos.x, entity.pos.y, entity.dim.width, entity.dim.height);
+    }
+
+    /*
+     * Same as query() over the area of the entity.
+     */
+    public int intersects(AbstractEntity entity, int[] indices) {
+        return query(entity.pos.x, entity.pos.y, entity.dim.width, entity.dim.height, indices);
+    }
+
+    /*
+     * Puts the indices of the blocks intersecting the given area into indices
+     * and returns how many blocks intersect it. Only the grid cells covered by
+     * the area are visited. If more blocks intersect than indices can hold,
+     * only the first indices.length of them are put into it, so a count above
+     * indices.length means the area has to be queried again with a bigger array.
+     */
+    public int query(int x, int y, int width, int height, int[] indices) {
+        if (width <= 0 || height <= 0 || gridCells.length == 0) {
+            return 0;
+        }
+
+        int c0 = Math.max(0, getGridCol(x));
+        int c1 = Math.min(gridCols - 1, getGridCol(x + width - 1));
+        int r0 = Math.max(0, getGridRow(y));
+        int r1 = Math.min(gridRows - 1, getGridRow(y + height - 1));
+
+        int count = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * gridCols + c;
+                int start = gridCellStart[cell];
+                int end = start + gridCellCount[cell];
+                for (int i = start; i < end; i++) {
+                    int index = gridCells[i];
+                    if (isQueried(index, x, y, width, height, r, c, r0, c0)) {
+                        if (count < indices.length) {
+                            indices[count] = index;
+                        }
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /*
+     * Returns the lowest index of the blocks intersecting the given area, or -1 if none.
+     */
+    public int queryLowest(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0 || gridCells.length == 0) {
+            return -1;
+        }
+
+        int c0 = Math.max(0, getGridCol(x));
+        int c1 = Math.min(gridCols - 1, getGridCol(x + width - 1));
+        int r0 = Math.max(0, getGridRow(y));
+        int r1 = Math.min(gridRows - 1, getGridRow(y + height - 1));
+
+        int lowest = -1;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * gridCols + c;
+                int start = gridCellStart[cell];
+                int end = start + gridCellCount[cell];
+                for (int i = start; i < end; i++) {
+                    int index = gridCells[i];
+                    if ((lowest == -1 || index < lowest) && isQueried(index, x, y, width, height, r, c, r0, c0)) {
+                        lowest = index;
+                    }
+                }
             }
         }
-        return -1;
+        return lowest;
+    }
+
+    /*
+     * Whether the block at index intersects the area, and cell (r, c) is the
+     * first of its cells within the area starting at cell (r0, c0). Blocks
+     * spanning several cells are therefore only counted once.
+     */
+    private boolean isQueried(int index, int x, int y, int width, int height, int r, int c, int r0, int c0) {
+        return x < blockX[index] + blockWidth[index] && blockX[index] < x + width &&
+                y < blockY[index] + blockHeight[index] && blockY[index] < y + height &&
+                r == Math.max(r0, getGridRow(blockY[index])) && c == Math.max(c0, getGridCol(blockX[index]));
     }
 
-}
\ No newline at end of file
+}
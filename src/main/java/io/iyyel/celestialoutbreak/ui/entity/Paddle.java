@@ -1,7 +1,6 @@
 package io.iyyel.celestialoutbreak.ui.entity;
 
 import io.iyyel.celestialoutbreak.handler.InputHandler;
-import io.iyyel.celestialoutbreak.handler.LevelHandler;
 import io.iyyel.celestialoutbreak.handler.LogHandler;
 import io.iyyel.celestialoutbreak.ui.entity.effects.PaddleEffect;
 import io.iyyel.celestialoutbreak.util.Util;
@@ -13,7 +12,6 @@ public final class Paddle extends AbstractMobileEntity {
     private final Util util = Util.getInstance();
     private final InputHandler inputHandler = InputHandler.getInstance();
     private final LogHandler logHandler = LogHandler.getInstance();
-    private final LevelHandler levelHandler = LevelHandler.getInstance();
 
     private final Dimension origDim;
     private final Shape origShape;
@@ -55,13 +53,13 @@ public final class Paddle extends AbstractMobileEntity {
 
     private void moveLeft() {
         if (inputHandler.isLeftPressed() && pos.x > 0) {
-            pos.x -= velocity.x;
+            move(-velocity.x * tickScale, 0);
         }
     }
 
     private void moveRight() {
         if (inputHandler.isRightPressed() && pos.x <= screenWidth - dim.width) {
-            pos.x += velocity.x;
+            move(velocity.x * tickScale, 0);
         }
     }
 
@@ -73,10 +71,7 @@ public final class Paddle extends AbstractMobileEntity {
     private void checkBlockCollisionXAxis() {
         int blockIndex = blockField.intersects(this);
         if (blockIndex != -1) {
-            Block b = blockField.getBlock(blockIndex);
-            if (b != null) {
-                fixCollisionXAxis(b);
-            }
+            fixCollisionXAxis(blockField.getBlockX(blockIndex), blockField.getBlockWidth(blockIndex));
         }
     }
 
@@ -88,7 +83,7 @@ public final class Paddle extends AbstractMobileEntity {
         this.effect = effect;
         this.effect.activate();
         int curCenterX = pos.x + dim.width / 2;
-        this.pos = new Point(curCenterX - (effect.getDim().width / 2), pos.y);
+        setPos(curCenterX - (effect.getDim().width / 2), pos.y);
         this.dim = effect.getDim();
         this.shape = effect.getShape();
         this.col = effect.getColor();
@@ -99,11 +94,10 @@ public final class Paddle extends AbstractMobileEntity {
 
     private void updateEffect() {
         if (effect != null && effect.isActive()) {
-            long delta = levelHandler.getActiveLevel().getLevelTimer().getSecondsElapsed() - effect.getStartTime();
-            if (delta > effect.getDuration()) {
+            if (effect.tick()) {
                 effect.deactivate();
                 int curCenterX = pos.x + dim.width / 2;
-                this.pos = new Point(curCenterX - (origDim.width / 2), pos.y);
+                setPos(curCenterX - (origDim.width / 2), pos.y);
                 this.dim = origDim;
                 this.col = origCol;
                 this.speed = origSpeed;
@@ -1,8 +1,10 @@
 package io.iyyel.celestialoutbreak.ui.entity;
 
+import io.iyyel.celestialoutbreak.handler.LevelHandler;
 import io.iyyel.celestialoutbreak.handler.SoundHandler;
 import io.iyyel.celestialoutbreak.ui.entity.effects.BallEffect;
 import io.iyyel.celestialoutbreak.ui.entity.effects.Effect;
+import io.iyyel.celestialoutbreak.ui.entity.effects.MultiBallEffect;
 import io.iyyel.celestialoutbreak.ui.entity.effects.PaddleEffect;
 
 import java.awt.*;
@@ -10,6 +12,7 @@ import java.awt.*;
 public final class PowerUp extends AbstractMobileEntity {
 
     private final SoundHandler soundHandler = SoundHandler.getInstance();
+    private final LevelHandler levelHandler = LevelHandler.getInstance();
 
     private final int screenHeight;
     private final Paddle paddle;
@@ -36,7 +39,7 @@ public final class PowerUp extends AbstractMobileEntity {
             return;
         }
 
-        pos.y += speed;
+        move(0, speed * tickScale);
     }
 
     @Override
@@ -58,6 +61,8 @@ public final class PowerUp extends AbstractMobileEntity {
             paddle.applyEffect((PaddleEffect) effect);
         } else if (effect instanceof BallEffect) {
             ball.applyEffect((BallEffect) effect);
+        } else if (effect instanceof MultiBallEffect) {
+            levelHandler.getActiveLevel().getBallSystem().spawnBalls((MultiBallEffect) effect);
         }
     }
 
@@ -1,15 +1,21 @@
 package io.iyyel.celestialoutbreak.ui.entity.effects;
 
-import io.iyyel.celestialoutbreak.handler.LevelHandler;
+import io.iyyel.celestialoutbreak.handler.OptionsHandler;
 
 public abstract class Effect {
 
-    private final LevelHandler levelHandler = LevelHandler.getInstance();
+    private final int updateRate = OptionsHandler.getInstance().getUpdateRate();
 
     // effect duration in seconds
     protected final int duration;
     protected boolean active = false;
-    protected long startTime = 0;
+
+    /*
+     * Updates the effect has been active for. The duration is counted in
+     * updates rather than by the level timer, so that a level replayed with
+     * the same seed and input ends the effect on the same update.
+     */
+    protected long activeTicks = 0;
     protected String spawnSoundFileName;
     protected String collideSoundFileName;
 
@@ -26,17 +32,22 @@ public abstract class Effect {
     }
 
     public void activate() {
-        startTime = levelHandler.getActiveLevel().getLevelTimer().getSecondsElapsed();
+        activeTicks = 0;
         active = true;
     }
 
     public void deactivate() {
-        startTime = 0;
+        activeTicks = 0;
         active = false;
     }
 
-    public long getStartTime() {
-        return startTime;
+    /*
+     * Called once per update of the entity the effect is applied to.
+     * Returns whether the effect has now lasted longer than its duration.
+     */
+    public boolean tick() {
+        activeTicks++;
+        return activeTicks > (long) duration * updateRate;
     }
 
     public String getSpawnSoundFileName() {
@@ -0,0 +1,51 @@
+package io.iyyel.celestialoutbreak.ui.entity.effects;
+
+import io.iyyel.celestialoutbreak.ui.interfaces.IEntityRenderable.Shape;
+
+import java.awt.*;
+
+/*
+ * Spawns ballAmount extra balls from the paddle. The balls
+ * stay until they fall out, so the effect has no duration.
+ */
+public final class MultiBallEffect extends Effect {
+
+    private final int ballAmount;
+    private final Dimension dim;
+    private final Shape shape;
+    private final Color col;
+    private final int speed;
+
+    public MultiBallEffect(int ballAmount, Dimension dim, Shape shape, Color color, int speed,
+                           String spawnSoundFileName, String collideSoundFileName) {
+        super(0);
+        this.ballAmount = ballAmount;
+        this.dim = dim;
+        this.shape = shape;
+        this.col = color;
+        this.speed = speed;
+        this.spawnSoundFileName = spawnSoundFileName;
+        this.collideSoundFileName = collideSoundFileName;
+    }
+
+    public int getBallAmount() {
+        return ballAmount;
+    }
+
+    public Dimension getDim() {
+        return dim;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public Color getColor() {
+        return col;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+}
@@ -28,12 +28,12 @@ public abstract class AbstractScreen implements IEntityUpdatable, IEntityRendera
     protected final SoundHandler.SoundClip menuAuxClip = soundHandler.getSoundClip(textHandler.SOUND_FILE_NAME_MENU_BTN_AUX);
     protected final SoundHandler.SoundClip menuBadClip = soundHandler.getSoundClip(textHandler.SOUND_FILE_NAME_BAD_ACTION);
 
-    private final Font titleFont = util.getGameFont().deriveFont(52F);
-    private final Font subtitleFont = util.getGameFont().deriveFont(36F);
-    private final Font tooltipFont = util.getGameFont().deriveFont(18F);
-    private final Font infoPanelFont = util.getGameFont().deriveFont(14F);
-    protected final Font msgFont = util.getGameFont().deriveFont(26F);
-    protected final Font inputBtnFont = util.getGameFont().deriveFont(20F);
+    private final Font titleFont = util.getGameFont(52F);
+    private final Font subtitleFont = util.getGameFont(36F);
+    private final Font tooltipFont = util.getGameFont(18F);
+    private final Font infoPanelFont = util.getGameFont(14F);
+    protected final Font msgFont = util.getGameFont(26F);
+    protected final Font inputBtnFont = util.getGameFont(20F);
 
     protected final Color screenFontColor = optionsHandler.getMenuFontColor();
     protected final Color menuBtnColor = optionsHandler.getMenuBtnColor();
@@ -43,7 +43,8 @@ public abstract class AbstractScreen implements IEntityUpdatable, IEntityRendera
 
     private final RoundRectangle2D versionRect, authorRect;
 
-    private final int INIT_INPUT_TIMER = 12;
+    /* 12 updates at the reference update rate. */
+    private final int INIT_INPUT_TIMER = (int) Math.round(12 / optionsHandler.getTickScale());
     private int inputTimer = INIT_INPUT_TIMER;
 
     protected final int initialBtnYPos = 230;
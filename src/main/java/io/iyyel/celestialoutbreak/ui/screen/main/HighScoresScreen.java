@@ -1,10 +1,11 @@
 package io.iyyel.celestialoutbreak.ui.screen.main;
 
 import io.iyyel.celestialoutbreak.controller.GameController;
-import io.iyyel.celestialoutbreak.data.dao.HighScoreDAO;
+import io.iyyel.celestialoutbreak.data.dao.HighScoreLogDAO;
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IHighScoreDAO;
 import io.iyyel.celestialoutbreak.data.dto.HighScoreDTO;
 import io.iyyel.celestialoutbreak.handler.LevelHandler;
+import io.iyyel.celestialoutbreak.level.LevelConfig;
 import io.iyyel.celestialoutbreak.ui.screen.AbstractScreen;
 
 import java.awt.*;
@@ -16,15 +17,26 @@ public final class HighScoresScreen extends AbstractScreen {
     private final Color[] levelRectColors;
     private boolean isFirstRender = true;
 
-    private final Font levelInfoFont = util.getGameFont().deriveFont(15F);
+    private final Font levelInfoFont = util.getGameFont(15F);
 
-    private final static IHighScoreDAO highScoreDAO = HighScoreDAO.getInstance();
+    private final static IHighScoreDAO highScoreDAO = HighScoreLogDAO.getInstance();
     private final LevelHandler levelHandler = LevelHandler.getInstance();
 
     private final int levelAmount = levelHandler.getLevelAmount();
 
     private final int buttonWrap = 3;
 
+    /*
+     * Render model of the level cards. The card texts are only computed
+     * when the screen is entered, the high scores change or a level
+     * finishes loading, so rendering a frame only draws strings.
+     */
+    private final LevelConfig[] cardLevelConfigs;
+    private final String[] cardPlayerTexts;
+    private final String[] cardScoreTexts;
+    private final String[] cardTimeTexts;
+    private volatile boolean isRenderModelDirty = true;
+
     public HighScoresScreen(GameController gameController) {
         super(gameController);
         levelRects = new RoundRectangle2D.Float[levelAmount];
@@ -48,6 +60,12 @@ public final class HighScoresScreen extends AbstractScreen {
             y += yInc;
         }
 
+        cardLevelConfigs = new LevelConfig[levelAmount];
+        cardPlayerTexts = new String[levelAmount];
+        cardScoreTexts = new String[levelAmount];
+        cardTimeTexts = new String[levelAmount];
+
+        highScoreDAO.addChangeListener(() -> isRenderModelDirty = true);
     }
 
     @Override
@@ -70,11 +88,11 @@ public final class HighScoresScreen extends AbstractScreen {
 
         if (isFirstRender) {
             isFirstRender = false;
-            try {
-                highScoreDAO.loadHighScoreList();
-            } catch (IHighScoreDAO.HighScoreDAOException e) {
-                e.printStackTrace();
-            }
+            isRenderModelDirty = true;
+        }
+
+        if (isRenderModelDirty || isLevelLoadStateChanged()) {
+            updateRenderModel();
         }
 
         /* Render buttons  */
@@ -84,40 +102,95 @@ public final class HighScoresScreen extends AbstractScreen {
             g.drawString("No levels were loaded.", 20, gameController.getHeight() / 2);
         } else {
             for (int i = 0; i < levelAmount; i++) {
+                LevelConfig levelConfig = cardLevelConfigs[i];
+
+                if (levelConfig == null) {
+                    renderLevelLoadState(i, g);
+                    continue;
+                }
+
                 g.setFont(inputBtnFont);
-                g.setColor(levelHandler.getLevelColors()[i]);
-                g.drawString(levelHandler.getLevelNames()[i], (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 27);
+                g.setColor(levelConfig.getLevelColor());
+                g.drawString(levelConfig.getLevelName(), (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 27);
 
                 g.setFont(levelInfoFont);
                 g.setColor(menuBtnColor);
+                g.drawString(cardPlayerTexts[i], (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 70);
+                g.drawString(cardScoreTexts[i], (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 90);
+                g.drawString(cardTimeTexts[i], (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 110);
 
-                HighScoreDTO highScoreDTO = null;
-                try {
-                    highScoreDTO = highScoreDAO.getHighScore(levelHandler.getLevelNames()[i]);
-                } catch (IHighScoreDAO.HighScoreDAOException e) {
-                    e.printStackTrace();
-                }
+                g.setColor(levelRectColors[i]);
+                g.draw(levelRects[i]);
+            }
+        }
 
-                String player = textHandler.getFixedString("Player: ", 15);
-                String score = textHandler.getFixedString("High Score: 0", 20);
-                String time = textHandler.getFixedString("Time: 00:00", 12);
+        drawInfoPanel(g);
+    }
 
-                if (highScoreDTO != null) {
-                    player = textHandler.getFixedString("Player: " + highScoreDTO.getPlayer(), 16);
-                    score = textHandler.getFixedString("High Score:  " + highScoreDTO.getScore(), 20);
-                    time = textHandler.getFixedString("Time: " + textHandler.getTimeString(highScoreDTO.getTime()), 12);
-                }
+    /*
+     * Computes the texts of every level card from the current high scores.
+     */
+    private void updateRenderModel() {
+        isRenderModelDirty = false;
 
-                g.drawString(player, (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 70);
-                g.drawString(score, (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 90);
-                g.drawString(time, (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 110);
+        for (int i = 0; i < levelAmount; i++) {
+            LevelConfig levelConfig = levelHandler.getLevelConfig(i);
+            cardLevelConfigs[i] = levelConfig;
 
-                g.setColor(levelRectColors[i]);
-                g.draw(levelRects[i]);
+            if (levelConfig == null) {
+                continue;
+            }
+
+            /* The change listener marks the model dirty once the scores are loaded. */
+            if (!highScoreDAO.isLoaded()) {
+                cardPlayerTexts[i] = textHandler.getFixedString("Player: ", 15);
+                cardScoreTexts[i] = textHandler.getFixedString("Loading scores...", 20);
+                cardTimeTexts[i] = textHandler.getFixedString("Time: ", 12);
+                continue;
+            }
+
+            HighScoreDTO highScoreDTO = null;
+            try {
+                highScoreDTO = highScoreDAO.getHighScore(levelConfig.getLevelName());
+            } catch (IHighScoreDAO.HighScoreDAOException e) {
+                e.printStackTrace();
+            }
+
+            if (highScoreDTO != null) {
+                cardPlayerTexts[i] = textHandler.getFixedString("Player: " + highScoreDTO.getPlayer(), 16);
+                cardScoreTexts[i] = textHandler.getFixedString("High Score:  " + highScoreDTO.getScore(), 20);
+                cardTimeTexts[i] = textHandler.getFixedString("Time: " + textHandler.getTimeString(highScoreDTO.getTime()), 12);
+            } else {
+                cardPlayerTexts[i] = textHandler.getFixedString("Player: ", 15);
+                cardScoreTexts[i] = textHandler.getFixedString("High Score: 0", 20);
+                cardTimeTexts[i] = textHandler.getFixedString("Time: 00:00", 12);
             }
         }
+    }
 
-        drawInfoPanel(g);
+    private boolean isLevelLoadStateChanged() {
+        for (int i = 0; i < levelAmount; i++) {
+            if (cardLevelConfigs[i] != levelHandler.getLevelConfig(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Renders the card of a level that is still loading or failed to load.
+     */
+    private void renderLevelLoadState(int index, Graphics2D g) {
+        g.setFont(inputBtnFont);
+        g.setColor(menuBtnColor);
+        if (levelHandler.getLevelLoadState(index) == LevelHandler.LevelLoadState.FAILED) {
+            g.drawString("Failed to load.", (int) levelRects[index].getX() + 5, (int) levelRects[index].getY() + 27);
+        } else {
+            g.drawString("Loading...", (int) levelRects[index].getX() + 5, (int) levelRects[index].getY() + 27);
+        }
+
+        g.setColor(levelRectColors[index]);
+        g.draw(levelRects[index]);
     }
 
 }
\ No newline at end of file
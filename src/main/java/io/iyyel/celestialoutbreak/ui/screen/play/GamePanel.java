@@ -24,7 +24,7 @@ public final class GamePanel extends AbstractScreen {
 
     public GamePanel(GameController gameController, LevelOptions levelOptions) {
         super(gameController);
-        panelFont = util.getGameFont().deriveFont(16F);
+        panelFont = util.getGameFont(16F);
         titleColor = levelOptions.getGamePanelTitleColor();
         valueColor = levelOptions.getGamePanelValueColor();
     }
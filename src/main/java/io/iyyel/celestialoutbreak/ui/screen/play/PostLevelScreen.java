@@ -2,7 +2,7 @@ package io.iyyel.celestialoutbreak.ui.screen.play;
 
 import io.iyyel.celestialoutbreak.controller.GameController;
 import io.iyyel.celestialoutbreak.controller.GameController.State;
-import io.iyyel.celestialoutbreak.data.dao.HighScoreDAO;
+import io.iyyel.celestialoutbreak.data.dao.HighScoreLogDAO;
 import io.iyyel.celestialoutbreak.data.dao.PlayerDAO;
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IHighScoreDAO;
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IPlayerDAO;
@@ -13,11 +13,12 @@ import io.iyyel.celestialoutbreak.level.Level;
 import io.iyyel.celestialoutbreak.ui.screen.AbstractScreen;
 
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
 
 public final class PostLevelScreen extends AbstractScreen {
 
     private final LevelHandler levelHandler = LevelHandler.getInstance();
-    private final IHighScoreDAO highScoreDAO = HighScoreDAO.getInstance();
+    private final IHighScoreDAO highScoreDAO = HighScoreLogDAO.getInstance();
     private final LogHandler logHandler = LogHandler.getInstance();
     private final IPlayerDAO playerDAO = PlayerDAO.getInstance();
     private HighScoreDTO highScoreDTO;
@@ -26,6 +27,9 @@ public final class PostLevelScreen extends AbstractScreen {
     private boolean hasWon = false;
     private boolean isHighScore = false;
 
+    /* Completes with whether the score is a new high score once it has been saved. */
+    private CompletableFuture<Boolean> highScoreFuture;
+
     public PostLevelScreen(GameController gameController) {
         super(gameController);
     }
@@ -52,20 +56,17 @@ public final class PostLevelScreen extends AbstractScreen {
             activeLevel.getLevelTimer().stopTimer();
             hasWon = levelHandler.getActiveLevel().isWon();
 
-            try {
-                highScoreDAO.loadHighScoreList();
-            } catch (IHighScoreDAO.HighScoreDAOException e) {
-                e.printStackTrace();
-            }
+            highScoreFuture = null;
 
             if (hasWon) {
                 try {
                     highScoreDTO = new HighScoreDTO(playerDAO.getSelectedPlayer(), activeLevel.getName(),
-                            levelHandler.getCurrentScore(),    activeLevel.getLevelTimer().getSecondsElapsed());
-                    isHighScore = highScoreDAO.isHighScore(highScoreDTO);
-                    if (isHighScore && !optionsHandler.isGodModeEnabled()) {
-                        highScoreDAO.addHighScore(highScoreDTO);
-                        highScoreDAO.saveHighScoreList();
+                            levelHandler.getCurrentScore(),    activeLevel.getLevelTimer().getSecondsElapsed(), activeLevel.getSeed());
+                    if (optionsHandler.isGodModeEnabled()) {
+                        highScoreFuture = CompletableFuture.completedFuture(
+                                highScoreDAO.isLoaded() && highScoreDAO.isHighScore(highScoreDTO));
+                    } else {
+                        highScoreFuture = highScoreDAO.submitHighScoreAsync(highScoreDTO);
                     }
                 } catch (IPlayerDAO.PlayerDAOException | IHighScoreDAO.HighScoreDAOException e) {
                     e.printStackTrace();
@@ -74,11 +75,18 @@ public final class PostLevelScreen extends AbstractScreen {
             }
         }
 
+        if (highScoreFuture != null && highScoreFuture.isDone()) {
+            isHighScore = !highScoreFuture.isCompletedExceptionally() && highScoreFuture.join();
+        }
+
         drawTitle(g);
         drawSubtitle(activeLevel.getName(), g);
 
         if (hasWon) {
-            if (isHighScore) {
+            if (highScoreFuture != null && !highScoreFuture.isDone()) {
+                drawCenteredText("Saving score...", -50, g);
+                drawCenteredText("You reached a total score of " + levelHandler.getCurrentScore() + ".", 50, g);
+            } else if (isHighScore) {
                 drawCenteredText("»»»»»»»» NEW HIGH SCORE! ««««««««", -50, g);
                 drawCenteredText("You reached a new high score of " + levelHandler.getCurrentScore() + ".", 50, g);
             } else {
@@ -1,12 +1,13 @@
 package io.iyyel.celestialoutbreak.ui.screen.play;
 
 import io.iyyel.celestialoutbreak.controller.GameController;
-import io.iyyel.celestialoutbreak.data.dao.HighScoreDAO;
+import io.iyyel.celestialoutbreak.data.dao.HighScoreLogDAO;
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IHighScoreDAO;
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IPlayerDAO;
 import io.iyyel.celestialoutbreak.data.dto.HighScoreDTO;
 import io.iyyel.celestialoutbreak.handler.LevelHandler;
 import io.iyyel.celestialoutbreak.handler.PowerUpHandler;
+import io.iyyel.celestialoutbreak.level.LevelConfig;
 import io.iyyel.celestialoutbreak.ui.screen.AbstractScreen;
 
 import java.awt.*;
@@ -15,13 +16,13 @@ import java.awt.geom.RoundRectangle2D;
 public class SelectLevelScreen extends AbstractScreen {
 
     private final LevelHandler levelHandler = LevelHandler.getInstance();
-    private final IHighScoreDAO highScoreDAO = HighScoreDAO.getInstance();
+    private final IHighScoreDAO highScoreDAO = HighScoreLogDAO.getInstance();
     private final PowerUpHandler powerUpHandler = PowerUpHandler.getInstance();
 
     private final RoundRectangle2D[] levelRects;
     private final Color[] levelRectColors;
 
-    private final Font levelInfoFont = util.getGameFont().deriveFont(15F);
+    private final Font levelInfoFont = util.getGameFont(15F);
 
     private final int levelAmount = levelHandler.getLevelAmount();
     private int selected = 0;
@@ -50,12 +51,6 @@ public class SelectLevelScreen extends AbstractScreen {
             levelRects[i] = new RoundRectangle2D.Float(x, y, 250, 130, 10, 10);
             y += yInc;
         }
-
-        try {
-            highScoreDAO.loadHighScoreList();
-        } catch (IHighScoreDAO.HighScoreDAOException e) {
-            e.printStackTrace();
-        }
     }
 
     @Override
@@ -93,11 +88,20 @@ public class SelectLevelScreen extends AbstractScreen {
             menuNavClip.play(false);
         }
 
+        /* Build the level under the cursor in the background, so it starts without a stall. */
+        if (selected < levelAmount) {
+            levelHandler.prebuildLevel(selected);
+        }
+
         for (int i = 0, n = levelHandler.getLevelAmount(); i < n; i++) {
             if (selected == i) {
                 updateLevelColors(i);
 
-                if (inputHandler.isOKPressed() && isInputAvailable()) {
+                if (inputHandler.isOKPressed() && isInputAvailable() && !levelHandler.isLevelLoaded(i)) {
+                    /* The level is still loading or failed to load. */
+                    resetInputTimer();
+                    menuBadClip.play(false);
+                } else if (inputHandler.isOKPressed() && isInputAvailable()) {
                     resetInputTimer();
                     menuNavClip.play(false);
 
@@ -125,9 +129,16 @@ public class SelectLevelScreen extends AbstractScreen {
             g.drawString("No levels were loaded.", 20, gameController.getHeight() / 2);
         } else {
             for (int i = 0; i < levelHandler.getLevelAmount(); i++) {
+                LevelConfig levelConfig = levelHandler.getLevelConfig(i);
+
+                if (levelConfig == null) {
+                    renderLevelLoadState(i, g);
+                    continue;
+                }
+
                 g.setFont(inputBtnFont);
-                g.setColor(levelHandler.getLevelColors()[i]);
-                g.drawString(levelHandler.getLevelNames()[i], (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 27);
+                g.setColor(levelConfig.getLevelColor());
+                g.drawString(levelConfig.getLevelName(), (int) levelRects[i].getX() + 5, (int) levelRects[i].getY() + 27);
 
                 g.setFont(levelInfoFont);
                 g.setColor(menuBtnColor);
@@ -144,19 +155,23 @@ public class SelectLevelScreen extends AbstractScreen {
                 String scoreTmp = "0";
                 long timeTmp = 0;
 
-                try {
-                    scoreDTO = highScoreDAO.getHighScore(selectedPlayer, levelHandler.getLevelNames()[i]);
-                    if (scoreDTO != null) {
-                        scoreTmp = scoreDTO.getScore() + "";
-                        timeTmp = scoreDTO.getTime();
+                if (!highScoreDAO.isLoaded()) {
+                    scoreTmp = "...";
+                } else {
+                    try {
+                        scoreDTO = highScoreDAO.getHighScore(selectedPlayer, levelConfig.getLevelName());
+                        if (scoreDTO != null) {
+                            scoreTmp = scoreDTO.getScore() + "";
+                            timeTmp = scoreDTO.getTime();
+                        }
+                    } catch (IHighScoreDAO.HighScoreDAOException e) {
+                        e.printStackTrace();
                     }
-                } catch (IHighScoreDAO.HighScoreDAOException e) {
-                    e.printStackTrace();
                 }
 
-                String blockHealth = textHandler.getFixedString("Blocks: " + levelHandler.getLevelBlockAmounts()[i] + "/" +
-                        levelHandler.getLevelHitPoints()[i], 15);
-                String playerLife = textHandler.getFixedString("Life: " + levelHandler.getLevelPlayerLives()[i], 12);
+                String blockHealth = textHandler.getFixedString("Blocks: " + levelConfig.getBlockAmount() + "/" +
+                        levelConfig.getBlockHitPoints(), 15);
+                String playerLife = textHandler.getFixedString("Life: " + levelConfig.getLevelPlayerLife(), 12);
                 String score = textHandler.getFixedString("Your Score: " + scoreTmp, 20);
                 String time = textHandler.getFixedString("Your Time: " + textHandler.getTimeString(timeTmp), 17);
 
@@ -177,6 +192,22 @@ public class SelectLevelScreen extends AbstractScreen {
         drawInfoPanel(g);
     }
 
+    /*
+     * Renders the button of a level that is still loading or failed to load.
+     */
+    private void renderLevelLoadState(int index, Graphics2D g) {
+        g.setFont(inputBtnFont);
+        g.setColor(menuBtnColor);
+        if (levelHandler.getLevelLoadState(index) == LevelHandler.LevelLoadState.FAILED) {
+            g.drawString("Failed to load.", (int) levelRects[index].getX() + 5, (int) levelRects[index].getY() + 27);
+        } else {
+            g.drawString("Loading...", (int) levelRects[index].getX() + 5, (int) levelRects[index].getY() + 27);
+        }
+
+        g.setColor(levelRectColors[index]);
+        g.draw(levelRects[index]);
+    }
+
     private void updateLevelColors(int index) {
         if (selected == index) {
             levelRectColors[index] = menuSelectedBtnColor;
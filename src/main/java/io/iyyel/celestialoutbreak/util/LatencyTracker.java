@@ -0,0 +1,48 @@
+package io.iyyel.celestialoutbreak.util;
+
+import java.util.Arrays;
+
+/*
+ * Rolling window of latency samples in nanoseconds. Percentiles are taken
+ * over the latest samples only, so old spikes drop out of the figures.
+ * Samples are added on the simulation thread and read on the render thread.
+ */
+public final class LatencyTracker {
+
+    private final long[] samples;
+    private final long[] sortedSamples;
+    private int sampleCount = 0;
+    private int nextSample = 0;
+
+    public LatencyTracker(int windowSize) {
+        samples = new long[windowSize];
+        sortedSamples = new long[windowSize];
+    }
+
+    public synchronized void addSample(long nanos) {
+        samples[nextSample] = nanos;
+        nextSample = (nextSample + 1) % samples.length;
+        if (sampleCount < samples.length) {
+            sampleCount++;
+        }
+    }
+
+    /*
+     * Returns the given percentile (0-100) of the window, or 0 if there are no samples.
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (sampleCount == 0) {
+            return 0;
+        }
+
+        System.arraycopy(samples, 0, sortedSamples, 0, sampleCount);
+        Arrays.sort(sortedSamples, 0, sampleCount);
+        int index = (int) Math.ceil(percentile / 100.0 * sampleCount) - 1;
+        return sortedSamples[Math.max(0, Math.min(sampleCount - 1, index))];
+    }
+
+    public synchronized int getSampleCount() {
+        return sampleCount;
+    }
+
+}
@@ -1,17 +1,30 @@
 package io.iyyel.celestialoutbreak.util;
 
 import io.iyyel.celestialoutbreak.data.dao.interfaces.IPlayerDAO;
+import io.iyyel.celestialoutbreak.handler.LogHandler;
 import io.iyyel.celestialoutbreak.handler.TextHandler;
 
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
-import java.util.Random;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class Util {
 
     private final TextHandler textHandler = TextHandler.getInstance();
-    private final Random random = new Random();
+    private final LogHandler logHandler = LogHandler.getInstance();
+
+    /*
+     * The game font is loaded from disk and registered only once.
+     * Derived fonts are cached by style and size in gameFontMap.
+     * gameFontLoadCount counts the loads, which should stay at 1.
+     */
+    private volatile Font gameFont;
+    private final Map<Long, Font> gameFontMap = new ConcurrentHashMap<>();
+    private final AtomicInteger gameFontLoadCount = new AtomicInteger();
 
     private static final Util instance;
 
@@ -31,22 +44,60 @@ public final class Util {
         return instance;
     }
 
+    /*
+     * Colors outside of gameplay, such as the menu colors, aren't seeded.
+     */
     public Color generatePastelColor(final float luminance, final float sat) {
-        final float hue = random.nextFloat();
+        return new Color(generatePastelRGB(new SplittableRandom(), luminance, sat));
+    }
+
+    /*
+     * Gameplay colors are drawn from the random of the level, see LevelRandom.
+     */
+    public int generatePastelRGB(final SplittableRandom random, final float luminance, final float sat) {
+        final float hue = (float) random.nextDouble();
         final float saturation = (random.nextInt(2000) + 1000) / sat;
-        return Color.getHSBColor(hue, saturation, luminance);
+        return Color.HSBtoRGB(hue, saturation, luminance) & 0xFFFFFF;
     }
 
     public Font getGameFont() {
-        Font gameFont = null;
+        Font font = gameFont;
+        if (font == null) {
+            synchronized (this) {
+                font = gameFont;
+                if (font == null) {
+                    font = loadGameFont();
+                    gameFont = font;
+                }
+            }
+        }
+        return font;
+    }
+
+    public Font getGameFont(float size) {
+        return getGameFont(Font.PLAIN, size);
+    }
+
+    public Font getGameFont(int style, float size) {
+        long key = ((long) style << 32) | (Float.floatToIntBits(size) & 0xFFFFFFFFL);
+        return gameFontMap.computeIfAbsent(key, k -> getGameFont().deriveFont(style, size));
+    }
+
+    public int getGameFontLoadCount() {
+        return gameFontLoadCount.get();
+    }
+
+    private Font loadGameFont() {
+        String filePath = textHandler.GAME_FONT_FILE_CLIENT_PATH;
         try {
-            gameFont = Font.createFont(Font.TRUETYPE_FONT, new File(textHandler.GAME_FONT_FILE_CLIENT_PATH));
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(Font.createFont(Font.TRUETYPE_FONT, new File(textHandler.GAME_FONT_FILE_CLIENT_PATH)));
+            Font font = Font.createFont(Font.TRUETYPE_FONT, new File(filePath));
+            GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
+            logHandler.log(textHandler.gameFontLoadedMsg(filePath, gameFontLoadCount.incrementAndGet()), "loadGameFont", LogHandler.LogLevel.INFO, false);
+            return font;
         } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
+            logHandler.log(textHandler.errorOccurred("Failed to load game font '" + filePath + "'", e), "loadGameFont", LogHandler.LogLevel.ERROR, false);
+            return new Font(Font.SANS_SERIF, Font.PLAIN, 12);
         }
-        return gameFont;
     }
 
     public void createDemoPlayers(IPlayerDAO playerDAO) {
@@ -0,0 +1,116 @@
+package io.iyyel.celestialoutbreak.data.codec;
+
+import io.iyyel.celestialoutbreak.data.dto.HighScoreDTO;
+import io.iyyel.celestialoutbreak.data.dto.PlayerDTO;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Compares the size and the encode and decode throughput of DTOCodec
+ * with Java serialization, which wrote the player and score files before.
+ * Not a unit test, run its main method:
+ *
+ *   java -cp target/classes:target/test-classes io.iyyel.celestialoutbreak.data.codec.DTOCodecBenchmark
+ *
+ * Scores are only decoded by the codec, to import the old score file,
+ * so for them only the Java serialized import is measured.
+ */
+public final class DTOCodecBenchmark {
+
+    private static final int WARM_UP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 200;
+
+    private static final DTOCodec dtoCodec = DTOCodec.getInstance();
+
+    /* Keeps the decoded results alive, so the JIT can't drop the work. */
+    private static long blackhole;
+
+    private interface Encoder {
+        byte[] encode() throws IOException;
+    }
+
+    private interface Decoder {
+        Object decode(byte[] bytes) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        for (int playerCount : new int[]{10, 1000, 10000}) {
+            PlayerDTO playerDTO = createPlayers(playerCount);
+            System.out.println(playerCount + " players:");
+            benchmark("Java serialization", () -> serialize(playerDTO), DTOCodecBenchmark::deserialize);
+            benchmark("DTOCodec", () -> encodePlayers(playerDTO), bytes -> dtoCodec.decodePlayers(new ByteArrayInputStream(bytes)));
+        }
+
+        List<HighScoreDTO> scores = createScores(10000, 20, 12);
+        System.out.println(scores.size() + " scores, decoded by the score file import:");
+        benchmark("Java serialization", () -> serialize(scores), bytes -> dtoCodec.decodeScores(new ByteArrayInputStream(bytes)));
+
+        System.out.println("(" + blackhole + ")");
+    }
+
+    private static void benchmark(String name, Encoder encoder, Decoder decoder) throws IOException {
+        byte[] bytes = encoder.encode();
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            blackhole += encoder.encode().length;
+            blackhole += decoder.decode(bytes).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            blackhole += encoder.encode().length;
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            blackhole += decoder.decode(bytes).hashCode();
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        System.out.printf("  %-20s %10d bytes, encode %10.1f us, decode %10.1f us%n", name, bytes.length,
+                encodeNanos / 1000.0 / MEASURED_ROUNDS, decodeNanos / 1000.0 / MEASURED_ROUNDS);
+    }
+
+    private static PlayerDTO createPlayers(int count) {
+        PlayerDTO playerDTO = new PlayerDTO();
+        for (int i = 0; i < count; i++) {
+            playerDTO.addPlayer("Player" + i);
+        }
+        playerDTO.setSelectedPlayer("Player0");
+        return playerDTO;
+    }
+
+    private static List<HighScoreDTO> createScores(int count, int playerCount, int levelCount) {
+        List<HighScoreDTO> scores = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            scores.add(new HighScoreDTO("Player" + (i % playerCount), "Level " + (i % levelCount), i * 10L, i));
+        }
+        return scores;
+    }
+
+    private static byte[] encodePlayers(PlayerDTO playerDTO) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dtoCodec.encodePlayers(playerDTO, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] serialize(Object obj) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(obj);
+        }
+        return out.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+}
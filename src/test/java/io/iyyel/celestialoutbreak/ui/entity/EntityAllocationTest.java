@@ -0,0 +1,105 @@
+package io.iyyel.celestialoutbreak.ui.entity;
+
+import io.iyyel.celestialoutbreak.handler.OptionsHandler;
+import io.iyyel.celestialoutbreak.handler.TextHandler;
+import io.iyyel.celestialoutbreak.ui.interfaces.IEntityRenderable.Shape;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.*;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+/*
+ * The paddle and the ball are updated every tick, so once the JIT has
+ * warmed up their update path must not allocate at all.
+ */
+public class EntityAllocationTest {
+
+    private static final int SCREEN_WIDTH = 640;
+    private static final int SCREEN_HEIGHT = 480;
+
+    private static final int WARM_UP_TICKS = 200000;
+    private static final int MEASURED_TICKS = 100000;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        /* The handlers keep their files in the user home, don't touch the real one. */
+        File home = Files.createTempDirectory("celestialoutbreak").toFile();
+        System.setProperty("user.home", home.getAbsolutePath());
+
+        TextHandler textHandler = TextHandler.getInstance();
+        OptionsHandler optionsHandler = OptionsHandler.getInstance();
+        optionsHandler.reloadProperty(textHandler.PROP_KEY_SOUND_ENABLED, "false");
+        optionsHandler.reloadProperty(textHandler.PROP_KEY_GOD_MODE_ENABLED, "true");
+
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void testUpdateDoesNotAllocate() throws Exception {
+        assertUpdateDoesNotAllocate(false);
+    }
+
+    @Test
+    public void testSweptUpdateDoesNotAllocate() throws Exception {
+        assertUpdateDoesNotAllocate(true);
+    }
+
+    private void assertUpdateDoesNotAllocate(boolean swept) throws Exception {
+        TextHandler textHandler = TextHandler.getInstance();
+        OptionsHandler.getInstance().reloadProperty(textHandler.PROP_KEY_SWEPT_COLLISION_ENABLED, String.valueOf(swept));
+
+        /* The blocks can't be destroyed, so the ball keeps bouncing between them, the walls and the paddle. */
+        BlockField blockField = new BlockField(24, new Point(20, 20), new Point(10, 10), new Dimension(60, 20),
+                1000000, Shape.RECTANGLE, 0.5f, 0.5f, SCREEN_WIDTH, new SplittableRandom(1));
+        Paddle paddle = new Paddle(new Point(0, 400), new Dimension(SCREEN_WIDTH, 10), Shape.RECTANGLE,
+                Color.WHITE, 5, SCREEN_WIDTH, blockField);
+        Ball ball = new Ball(new Point(300, 300), new Dimension(10, 10), Shape.OVAL, Color.WHITE, 4,
+                SCREEN_WIDTH, SCREEN_HEIGHT, paddle, blockField, new SplittableRandom(2));
+        release(ball);
+
+        tick(paddle, ball, WARM_UP_TICKS);
+
+        long threadId = Thread.currentThread().getId();
+        long overhead = measureOverhead(threadId);
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        tick(paddle, ball, MEASURED_TICKS);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        assertEquals("bytes allocated per tick", 0, Math.max(0, allocated) / MEASURED_TICKS);
+    }
+
+    private void tick(Paddle paddle, Ball ball, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            paddle.storePrevPos();
+            ball.storePrevPos();
+            paddle.update();
+            ball.update();
+        }
+    }
+
+    /* What reading the allocation counter allocates by itself. */
+    private long measureOverhead(long threadId) {
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        return threadBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /* Lets the ball go as if the player had pressed the aux key. */
+    private void release(Ball ball) throws Exception {
+        Field isStuck = Ball.class.getDeclaredField("isStuck");
+        isStuck.setAccessible(true);
+        isStuck.setBoolean(ball, false);
+        ball.velocity.x = 4;
+        ball.velocity.y = -4;
+    }
+
+}